@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Starts the application built with "mvn -Pstartup package" using its AOT bean definitions and
+# class-data sharing archive. Extra arguments are passed on to the application.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+extracted=target/extracted
+jar=$(find "$extracted" -maxdepth 1 -name 'device-manager-*.jar' | head -n 1)
+if [[ -z "$jar" || ! -f "$extracted/application.jsa" ]]; then
+    echo "No startup-optimized build found, run: mvn -Pstartup package" >&2
+    exit 1
+fi
+
+exec java -XX:SharedArchiveFile="$extracted/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$jar" --spring.profiles.active=dev,startup "$@"
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Measures time from process start to the first successful API request, for the plain jar and
+# for the startup-optimized build (AOT + CDS + startup profile).
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Requires "mvn -Pstartup package" and a reachable dev database with an existing schema.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+runs=${1:-5}
+port=18080
+url="http://localhost:$port/api/v1/user/devices?limit=1"
+jar=$(find target -maxdepth 1 -name 'device-manager-*.jar' | head -n 1)
+
+# Prints the milliseconds until $url answers 200 for the command given as arguments.
+measure() {
+    local start pid elapsed
+    start=$(date +%s%N)
+    "$@" --server.port=$port >/dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$url"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "application exited before answering" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed"
+}
+
+# Runs a mode $runs times and prints each timing and the median.
+benchmark() {
+    local name=$1
+    shift
+    local timings=()
+    for ((i = 0; i < runs; i++)); do
+        timings+=("$(measure "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${timings[@]}" | sort -n)
+    printf '%-10s runs: %s  median: %s ms\n' "$name" "${timings[*]}" "$(sed -n "$(( (runs + 1) / 2 ))p" <<< "$sorted")"
+}
+
+benchmark default java -jar "$jar"
+benchmark optimized scripts/run-optimized.sh
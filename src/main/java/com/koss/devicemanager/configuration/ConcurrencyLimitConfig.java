@@ -0,0 +1,39 @@
+package com.koss.devicemanager.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.filter.ConcurrencyLimitFilter;
+import com.koss.devicemanager.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(name = "device-manager.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Runs after the rate limiter, so throttled calls never take a concurrency slot. Size
+     * {@code max-limit} around the Tomcat thread count; the limit adapts below it.
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${device-manager.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${device-manager.concurrency-limit.min-limit:4}") int minLimit,
+            @Value("${device-manager.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${device-manager.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${device-manager.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${device-manager.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        var limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, smoothing, tolerance, backoffRatio);
+        var registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limit, objectMapper, meterRegistry, System::nanoTime));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
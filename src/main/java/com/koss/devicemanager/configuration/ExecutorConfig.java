@@ -0,0 +1,58 @@
+package com.koss.devicemanager.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Runs bulk import jobs off the request threads. One thread per allowed job, so
+     * admission is decided by the job service and the pool never has to queue.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bulkImportExecutor(
+            @Value("${device-manager.bulk-import.max-concurrent-jobs:2}") int maxConcurrentJobs) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(maxConcurrentJobs);
+        executor.setThreadNamePrefix("bulk-import-");
+        return executor;
+    }
+
+    /**
+     * Persists chunks of a parallel bulk save. Size it at or below the datasource pool size,
+     * since every busy thread holds a connection for the duration of its chunk. At most one chunk
+     * per thread waits in the queue; beyond that the submitting request thread persists the chunk
+     * itself, so a large payload cannot pile up queued chunks in memory.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor bulkWriteExecutor(
+            @Value("${device-manager.bulk-write.parallelism:4}") int parallelism) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("bulk-write-");
+        return executor;
+    }
+
+    /**
+     * Delivers committed changes to change feed subscribers. A single thread keeps delivery in
+     * sequence order and keeps slow subscribers off the threads that commit the writes.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor changeFeedExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("change-feed-");
+        return executor;
+    }
+}
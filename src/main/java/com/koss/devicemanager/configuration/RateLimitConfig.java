@@ -0,0 +1,42 @@
+package com.koss.devicemanager.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.filter.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "device-manager.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    /**
+     * Applies per-client rate limits to the API only, ahead of any other application filter,
+     * so throttled calls never reach the controllers or the database. Clients are told apart by
+     * their remote address, so behind a load balancer this needs {@code server.forward-headers-strategy}.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${device-manager.rate-limit.user.permits-per-second:20}") double userPermitsPerSecond,
+            @Value("${device-manager.rate-limit.user.burst:40}") int userBurst,
+            @Value("${device-manager.rate-limit.admin.permits-per-second:2}") double adminPermitsPerSecond,
+            @Value("${device-manager.rate-limit.admin.burst:5}") int adminBurst,
+            @Value("${device-manager.rate-limit.max-clients:10000}") int maxClients,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        var filter = new RateLimitFilter(Map.of(
+                RateLimitFilter.Tier.USER, new RateLimitFilter.Budget(userPermitsPerSecond, userBurst),
+                RateLimitFilter.Tier.ADMIN, new RateLimitFilter.Budget(adminPermitsPerSecond, adminBurst)),
+                maxClients, objectMapper, meterRegistry, System::nanoTime);
+        var registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
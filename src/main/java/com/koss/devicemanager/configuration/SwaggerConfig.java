@@ -4,8 +4,13 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+/**
+ * Only needed once the API docs are first requested, so it is kept out of startup.
+ */
 @Configuration
+@Lazy
 public class SwaggerConfig {
     @Bean
     public OpenAPI customOpenAPI() {
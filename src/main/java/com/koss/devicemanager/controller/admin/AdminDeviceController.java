@@ -1,28 +1,43 @@
 package com.koss.devicemanager.controller.admin;
 
+import com.koss.devicemanager.dto.BatchOperationResultDTO;
+import com.koss.devicemanager.dto.BulkImportJobDTO;
+import com.koss.devicemanager.dto.BulkUpsertResultDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.dto.DevicePatchDTO;
 import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
 import com.koss.devicemanager.dto.response.ResponseWrapper;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+import com.koss.devicemanager.service.BulkImportJobService;
 import com.koss.devicemanager.service.DeviceService;
-import com.koss.devicemanager.util.ValidList;
+import com.koss.devicemanager.util.BulkPayloadReader;
+import com.koss.devicemanager.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
 import java.util.List;
 
 @Validated
@@ -32,16 +47,22 @@ import java.util.List;
 @Slf4j
 public class AdminDeviceController {
     private final DeviceService deviceService;
+    private final BulkImportJobService bulkImportJobService;
+    private final BulkPayloadReader bulkPayloadReader;
 
     @Operation(summary = "Get all devices", description = "Fetches all available devices")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of devices"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @GetMapping
-    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> getAllDevices() {
+    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> getAllDevices(
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching all devices.");
-        List<DeviceDTO> devices = deviceService.findAllDevices();
+        List<DeviceDTO> devices = fields == null
+                ? deviceService.findAllDevices()
+                : deviceService.findAllDevices(FieldSelection.parse(fields, DeviceField.class, DeviceField::getJsonName));
 
         var response = new ResponseWrapper<>(
                 devices, "All devices retrieved", true, devices.size());
@@ -50,16 +71,28 @@ public class AdminDeviceController {
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Create multiple devices", description = "Saves a list of devices in bulk")
+    @Operation(summary = "Create multiple devices", description = "Saves a list of devices in bulk, in chunks written while the payload is still being read and committed together; with parallel=true the whole payload is read first and split into chunks persisted concurrently in independent transactions",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = DeviceDTO.class)))))
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully created devices", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
             @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "415", description = "Unsupported Content-Type", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @PostMapping("/bulk")
-    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> saveAllDevices(@RequestBody @Valid ValidList<DeviceDTO> devices) {
-        log.info("Saving {} devices.", devices.size());
-        List<DeviceDTO> savedDevices = deviceService.saveAllDevices(devices);
+    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> saveAllDevices(
+            HttpServletRequest request,
+            @RequestParam(name = "parallel", defaultValue = "false") boolean parallel) throws IOException {
+        List<DeviceDTO> savedDevices;
+        if (parallel) {
+            var devices = bulkPayloadReader.readAll(request.getInputStream(), request.getContentType(), DeviceDTO.class);
+            log.info("Saving {} devices in parallel.", devices.size());
+            savedDevices = deviceService.saveAllDevicesInParallel(devices);
+        } else {
+            log.info("Saving streamed devices.");
+            savedDevices = deviceService.saveAllDevicesStreaming(rowConsumer -> bulkPayloadReader.read(
+                    request.getInputStream(), request.getContentType(), DeviceDTO.class, rowConsumer));
+        }
 
         var response = new ResponseWrapper<>(savedDevices, "All devices created", true, savedDevices.size());
 
@@ -67,6 +100,84 @@ public class AdminDeviceController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Synchronize devices", description = "Idempotent bulk upsert keyed on externalId when present, otherwise on (brand, name). Unchanged devices are skipped, changed ones updated and new ones inserted",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = DeviceDTO.class)))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully synchronized devices", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "415", description = "Unsupported Content-Type", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @PutMapping("/bulk")
+    public ResponseEntity<ResponseWrapper<BulkUpsertResultDTO>> upsertAllDevices(HttpServletRequest request) throws IOException {
+        var devices = bulkPayloadReader.readAll(request.getInputStream(), request.getContentType(), DeviceDTO.class);
+        log.info("Upserting {} devices.", devices.size());
+        var result = deviceService.upsertAllDevices(devices);
+
+        var response = new ResponseWrapper<>(result, "Devices synchronized", true, devices.size());
+
+        log.info("Upserted devices, inserted: {}, updated: {}, unchanged: {}.",
+                result.getInserted(), result.getUpdated(), result.getUnchanged());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Patch multiple devices", description = "Applies partial name and brand updates as batched UPDATE statements in chunked transactions and reports the outcome per device",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = DevicePatchDTO.class)))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully processed the patches", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "415", description = "Unsupported Content-Type", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @PatchMapping("/bulk")
+    public ResponseEntity<ResponseWrapper<BatchOperationResultDTO>> patchDevices(HttpServletRequest request) throws IOException {
+        var patches = bulkPayloadReader.readAll(request.getInputStream(), request.getContentType(), DevicePatchDTO.class);
+        log.info("Patching {} devices.", patches.size());
+        var result = deviceService.patchDevices(patches);
+
+        var response = new ResponseWrapper<>(result, "Devices patched", true, result.getItems().size());
+
+        log.info("Patched devices, updated: {}, unchanged: {}, not found: {}.",
+                result.getAffected(), result.getUnchanged(), result.getNotFound());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Delete multiple devices by ID", description = "Deletes the given devices as batched DELETE statements in chunked transactions and reports the outcome per device")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully processed the deletions", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "No device IDs given", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @DeleteMapping("/bulk/by-ids")
+    public ResponseEntity<ResponseWrapper<BatchOperationResultDTO>> deleteDevicesByIds(@RequestBody List<Long> ids) {
+        if (ids.isEmpty() || ids.contains(null)) {
+            throw new InvalidRequestParameterException("ids", "a non-empty list of device IDs is required");
+        }
+        log.info("Deleting {} devices by ID.", ids.size());
+        var result = deviceService.deleteDevicesByIds(ids);
+
+        var response = new ResponseWrapper<>(result, "Devices deleted", true, result.getItems().size());
+
+        log.info("Deleted devices: {}, not found: {}.", result.getAffected(), result.getNotFound());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Delete all devices of a brand", description = "Deletes every device of the given brand as batched DELETE statements in chunked transactions")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully deleted the devices", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @DeleteMapping("/bulk/brands/{brand}")
+    public ResponseEntity<ResponseWrapper<BatchOperationResultDTO>> deleteDevicesByBrand(@PathVariable String brand) {
+        log.info("Deleting all devices of brand {}.", brand);
+        var result = deviceService.deleteDevicesByBrand(brand);
+
+        var response = new ResponseWrapper<>(result, "Devices deleted", true, result.getItems().size());
+
+        log.info("Deleted {} devices of brand {}.", result.getAffected(), brand);
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Delete all devices", description = "Deletes all available devices in the database")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully deleted all devices"),
@@ -85,4 +196,57 @@ public class AdminDeviceController {
         log.info("All devices successfully deleted.");
         return ResponseEntity.ok(response);
     }
+
+    @Operation(summary = "Submit a bulk import job", description = "Queues a list of devices for asynchronous import and returns the job immediately",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(content = @Content(array = @ArraySchema(schema = @Schema(implementation = DeviceDTO.class)))))
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job accepted", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Validation failed", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "415", description = "Unsupported Content-Type", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent import jobs", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @PostMapping("/bulk/jobs")
+    public ResponseEntity<ResponseWrapper<BulkImportJobDTO>> submitBulkImportJob(HttpServletRequest request) throws IOException {
+        var devices = bulkPayloadReader.readAll(request.getInputStream(), request.getContentType(), DeviceDTO.class);
+        log.info("Submitting bulk import job for {} devices.", devices.size());
+        var job = bulkImportJobService.submit(devices);
+
+        var response = new ResponseWrapper<>(job, "Bulk import job submitted", true);
+
+        log.info("Bulk import job {} submitted.", job.getId());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @Operation(summary = "Get bulk import job status", description = "Reports progress, throughput, row errors and ETA of a bulk import job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the job", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping("/bulk/jobs/{jobId}")
+    public ResponseEntity<ResponseWrapper<BulkImportJobDTO>> getBulkImportJob(@PathVariable String jobId) {
+        log.info("Fetching bulk import job {}.", jobId);
+        var job = bulkImportJobService.getJob(jobId);
+
+        var response = new ResponseWrapper<>(job, "Bulk import job retrieved", true);
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Cancel a bulk import job", description = "Stops a bulk import job after its current chunk; already imported chunks are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cancellation requested", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "404", description = "Job not found", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @DeleteMapping("/bulk/jobs/{jobId}")
+    public ResponseEntity<ResponseWrapper<BulkImportJobDTO>> cancelBulkImportJob(@PathVariable String jobId) {
+        log.info("Cancelling bulk import job {}.", jobId);
+        var job = bulkImportJobService.cancelJob(jobId);
+
+        var response = new ResponseWrapper<>(job, "Bulk import job cancellation requested", true);
+
+        log.info("Bulk import job {} is {}.", jobId, job.getStatus());
+        return ResponseEntity.ok(response);
+    }
 }
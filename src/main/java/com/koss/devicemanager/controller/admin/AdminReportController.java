@@ -0,0 +1,79 @@
+package com.koss.devicemanager.controller.admin;
+
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
+import com.koss.devicemanager.dto.response.ResponseWrapper;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+import com.koss.devicemanager.service.DeviceCreationRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/admin/reports")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class AdminReportController {
+    private static final long MAX_BUCKETS_PER_REQUEST = 10_000;
+
+    private final DeviceCreationRollupService rollupService;
+
+    @Operation(summary = "Count device creations per brand and time bucket",
+            description = "Returns the number of existing devices created per brand in each minute, hour or day of [from, to), read from pre-aggregated rollups")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the counts", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Empty range or too many buckets requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping("/device-creations")
+    public ResponseEntity<ResponseWrapper<List<DeviceCreationBucketDTO>>> getDeviceCreations(
+            @RequestParam(name = "granularity", defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "brand", required = false) String brand) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestParameterException("to", "must be after 'from'");
+        }
+        if (Duration.between(from, to).dividedBy(granularity.getUnit().getDuration()) > MAX_BUCKETS_PER_REQUEST) {
+            throw new InvalidRequestParameterException("granularity",
+                    "at most " + MAX_BUCKETS_PER_REQUEST + " buckets per request, use a coarser granularity or a shorter range");
+        }
+        log.info("Fetching {} device creation counts between {} and {} for brand: {}", granularity, from, to, brand);
+        var buckets = rollupService.getCreationCounts(granularity, from, to, brand);
+
+        var response = new ResponseWrapper<>(buckets, "Device creation counts retrieved", true, buckets.size());
+        log.info("Retrieved {} device creation buckets.", buckets.size());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Rebuild device creation rollups", description = "Recomputes all rollups from the device table; run it while writes are quiet")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rollups rebuilt", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @PostMapping("/device-creations/rebuild")
+    public ResponseEntity<ResponseWrapper<Long>> rebuildDeviceCreations() {
+        log.info("Rebuilding device creation rollups.");
+        long devices = rollupService.rebuild();
+
+        var response = new ResponseWrapper<>(devices, "Device creation rollups rebuilt from " + devices + " devices", true);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,9 +1,11 @@
 package com.koss.devicemanager.controller.user;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.BrandField;
 import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
 import com.koss.devicemanager.dto.response.ResponseWrapper;
 import com.koss.devicemanager.service.BrandService;
+import com.koss.devicemanager.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -22,6 +24,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -36,12 +39,16 @@ public class UserBrandController {
     @Operation(summary = "Get all brands", description = "Fetches all available brands")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of brands"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @GetMapping
-    public ResponseEntity<ResponseWrapper<List<BrandDTO>>> getAllBrands() {
+    public ResponseEntity<ResponseWrapper<List<BrandDTO>>> getAllBrands(
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching all brands");
-        List<BrandDTO> brands = brandService.findAllBrands();
+        List<BrandDTO> brands = fields == null
+                ? brandService.findAllBrands()
+                : brandService.findAllBrands(FieldSelection.parse(fields, BrandField.class, BrandField::getJsonName));
         var response = new ResponseWrapper<>(
                 brands,
                 "Successfully fetched brands",
@@ -51,6 +58,24 @@ public class UserBrandController {
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Get all brands with device counts", description = "Fetches all brands with the number of devices of each, computed by a single grouped query")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of brands"),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping("/device-counts")
+    public ResponseEntity<ResponseWrapper<List<BrandDTO>>> getAllBrandsWithDeviceCount() {
+        log.info("Fetching all brands with device counts");
+        var brands = brandService.findAllBrandsWithDeviceCount();
+        var response = new ResponseWrapper<>(
+                brands,
+                "Successfully fetched brands with device counts",
+                true);
+
+        log.info("Fetched {} brands with device counts", brands.size());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Add a new brand", description = "Creates a new brand")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Successfully created brand", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
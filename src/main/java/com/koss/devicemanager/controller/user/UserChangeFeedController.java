@@ -0,0 +1,70 @@
+package com.koss.devicemanager.controller.user;
+
+import com.koss.devicemanager.dto.ChangeFeedPageDTO;
+import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
+import com.koss.devicemanager.dto.response.ResponseWrapper;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+import com.koss.devicemanager.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/user/changes")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class UserChangeFeedController {
+    private static final int MAX_CHANGES_PER_REQUEST = 1000;
+
+    private final ChangeFeedService changeFeedService;
+
+    @Operation(summary = "Poll catalog changes", description = "Returns device and brand changes after the given sequence number, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the changes", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid sequence or limit", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping
+    public ResponseEntity<ResponseWrapper<ChangeFeedPageDTO>> getChanges(
+            @RequestParam(name = "since", defaultValue = "0") long since,
+            @RequestParam(name = "limit", defaultValue = "500") int limit) {
+        if (since < 0) {
+            throw new InvalidRequestParameterException("since", "must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PER_REQUEST) {
+            throw new InvalidRequestParameterException("limit", "must be between 1 and " + MAX_CHANGES_PER_REQUEST);
+        }
+        log.info("Fetching up to {} changes after sequence {}", limit, since);
+        var page = changeFeedService.getChanges(since, limit);
+        var response = new ResponseWrapper<>(page, "Successfully fetched changes", true, page.getChanges().size());
+        log.info("Fetched {} changes, last sequence: {}", page.getChanges().size(), page.getLastSequence());
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Stream catalog changes", description = "Server-sent event stream of device and brand changes. Each event id is its sequence number, so reconnecting clients resume via the Last-Event-ID header; a 'resync' event means the requested position is no longer retained and the catalog must be reloaded")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestParam(name = "since", required = false) Long since,
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        var from = lastEventId != null ? lastEventId : since;
+        log.info("Opening change stream from sequence {}", from);
+        return changeFeedService.subscribe(from);
+    }
+}
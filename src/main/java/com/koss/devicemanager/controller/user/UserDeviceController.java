@@ -1,9 +1,13 @@
 package com.koss.devicemanager.controller.user;
 
+import com.koss.devicemanager.dto.DeviceBatchDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
 import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
 import com.koss.devicemanager.dto.response.ResponseWrapper;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
 import com.koss.devicemanager.service.DeviceService;
+import com.koss.devicemanager.util.FieldSelection;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,6 +18,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -27,7 +32,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/user/devices")
@@ -36,49 +43,91 @@ import java.util.List;
 public class UserDeviceController {
     private final DeviceService deviceService;
     private static final Integer MAX_ELEMENTS_PER_REQUEST = 50;
+    private static final Integer MAX_IDS_PER_BATCH = 100;
 
     @Operation(summary = "Retrieve a device by ID", description = "Fetches a specific device by its ID for the user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the device", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "404", description = "Device not found", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @GetMapping("/{id}")
-    public ResponseEntity<ResponseWrapper<DeviceDTO>> getDeviceById(@PathVariable Long id) {
+    public ResponseEntity<ResponseWrapper<DeviceDTO>> getDeviceById(
+            @PathVariable Long id,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching device with ID: {}", id);
-        var device = deviceService.findDeviceById(id);
+        var device = fields == null
+                ? deviceService.findDeviceById(id)
+                : deviceService.findDeviceById(id, parseFields(fields));
         var response = new ResponseWrapper<>(device, "Device retrieved successfully", true);
         log.info("Device with ID: {} retrieved successfully.", id);
         return ResponseEntity.ok(response);
     }
 
+    @Operation(summary = "Retrieve devices by IDs", description = "Fetches up to 100 devices in a single query and reports the IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the devices", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "No IDs or too many IDs requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
+            @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<ResponseWrapper<DeviceBatchDTO>> getDevicesByIds(@RequestParam(name = "ids") List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_IDS_PER_BATCH) {
+            throw new InvalidRequestParameterException("ids", "between 1 and " + MAX_IDS_PER_BATCH + " IDs are required");
+        }
+        log.info("Fetching {} devices by ID", ids.size());
+        var batch = deviceService.findDevicesByIds(ids);
+        var response = new ResponseWrapper<>(batch, "Devices retrieved successfully", true, batch.getDevices().size());
+        log.info("Retrieved {} devices, {} IDs missing.", batch.getDevices().size(), batch.getMissingIds().size());
+        return ResponseEntity.ok(response);
+    }
+
     @Operation(summary = "Retrieve devices by brand name", description = "Fetches all devices by their brand name")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the devices", content = @Content(schema = @Schema(implementation = ResponseWrapper.class))),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @GetMapping("/brands/{brand}")
-    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> getDevicesByBrandName(@PathVariable String brand) {
+    public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> getDevicesByBrandName(
+            @PathVariable String brand,
+            @RequestParam(name = "fields", required = false) String fields) {
         log.info("Fetching devices for brand: {}", brand);
-        var devices = deviceService.findDevicesByBrand(brand);
+        var devices = fields == null
+                ? deviceService.findDevicesByBrand(brand)
+                : deviceService.findDevicesByBrand(brand, parseFields(fields));
         var response = new ResponseWrapper<>(devices, "Devices retrieved successfully", true, devices.size());
         log.info("Retrieved {} devices for brand: {}", devices.size(), brand);
         return ResponseEntity.ok(response);
     }
 
-    @Operation(summary = "Get a list of devices for the user", description = "Returns a paginated list of devices")
+    @Operation(summary = "Get a list of devices for the user",
+            description = "Returns a paginated list of devices. With from, to, brand or cursor the devices created in [from, to) "
+                    + "are returned in creation-time order, paginated by the nextCursor of the previous response")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of devices"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested, malformed cursor or empty time range", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content(schema = @Schema(implementation = ExceptionResponseWrapper.class)))
     })
     @GetMapping
     public ResponseEntity<ResponseWrapper<List<DeviceDTO>>> listDevices(
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @RequestParam(name = "fields", required = false) String fields,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(name = "brand", required = false) String brand,
+            @RequestParam(name = "cursor", required = false) String cursor) {
 
+        if (from != null || to != null || brand != null || cursor != null) {
+            return listDevicesByCreationTime(from, to, brand, cursor, limit, fields);
+        }
         var pageable = PageRequest.of(page, Math.min(limit, MAX_ELEMENTS_PER_REQUEST));
         log.info("Fetching devices with pagination - Page: {}, Limit: {}", page, limit);
-        var pagedDevices = deviceService.getPaginatedDevices(pageable);
+        var pagedDevices = fields == null
+                ? deviceService.getPaginatedDevices(pageable)
+                : deviceService.getPaginatedDevices(pageable, parseFields(fields));
         var devices = pagedDevices.getContent();
         long totalElements = pagedDevices.getTotalElements();
 
@@ -154,4 +203,29 @@ public class UserDeviceController {
         log.info("Device with ID: {} deleted successfully.", id);
         return ResponseEntity.ok(response);
     }
+
+    private ResponseEntity<ResponseWrapper<List<DeviceDTO>>> listDevicesByCreationTime(
+            LocalDateTime from, LocalDateTime to, String brand, String cursor, int limit, String fields) {
+        if (fields != null) {
+            throw new InvalidRequestParameterException("fields", "not supported with creation-time range queries");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidRequestParameterException("to", "must be after 'from'");
+        }
+        if (limit < 1) {
+            throw new InvalidRequestParameterException("limit", "must be positive");
+        }
+        log.info("Fetching devices created between {} and {} for brand: {}, limit: {}", from, to, brand, limit);
+        var page = deviceService.findDevicesByCreationTime(from, to, brand, cursor, Math.min(limit, MAX_ELEMENTS_PER_REQUEST));
+        var devices = page.getContent();
+
+        var response = new ResponseWrapper<>(devices, "Successfully fetched devices", true, devices.size());
+        response.setNextCursor(page.getNextCursor());
+        log.info("Fetched {} devices created in range, next cursor: {}", devices.size(), page.getNextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    private static Set<DeviceField> parseFields(String fields) {
+        return FieldSelection.parse(fields, DeviceField.class, DeviceField::getJsonName);
+    }
 }
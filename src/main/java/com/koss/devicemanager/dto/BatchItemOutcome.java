@@ -0,0 +1,8 @@
+package com.koss.devicemanager.dto;
+
+public enum BatchItemOutcome {
+    UPDATED,
+    UNCHANGED,
+    DELETED,
+    NOT_FOUND
+}
@@ -0,0 +1,21 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk operation for a single device")
+public class BatchItemResultDTO {
+
+    @Schema(description = "Identifier of the device", example = "1")
+    private Long id;
+
+    @Schema(description = "What happened to the device", example = "UPDATED")
+    private BatchItemOutcome outcome;
+}
@@ -0,0 +1,29 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk update or delete, with one entry per requested device")
+public class BatchOperationResultDTO {
+
+    @Schema(description = "Number of devices that were updated or deleted", example = "998")
+    private int affected;
+
+    @Schema(description = "Number of devices that already matched the requested values and were skipped", example = "0")
+    private int unchanged;
+
+    @Schema(description = "Number of requested devices that do not exist", example = "2")
+    private int notFound;
+
+    @Schema(description = "Per-device outcomes in request order")
+    private List<BatchItemResultDTO> items;
+}
@@ -1,5 +1,6 @@
 package com.koss.devicemanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Getter;
@@ -7,6 +8,7 @@ import lombok.Setter;
 
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Data Transfer Object representing a brand entity")
 public class BrandDTO {
 
@@ -16,4 +18,7 @@ public class BrandDTO {
     @Schema(description = "Name of the brand", example = "Apple", requiredMode = Schema.RequiredMode.REQUIRED)
     @NotBlank(message = "Brand is required")
     private String name;
+
+    @Schema(description = "Number of devices of the brand; only present on the device-counts listing", example = "42", accessMode = Schema.AccessMode.READ_ONLY)
+    private Long deviceCount;
 }
@@ -0,0 +1,16 @@
+package com.koss.devicemanager.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Brand attributes that can be requested through the {@code fields} parameter.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BrandField {
+    ID("id"),
+    NAME("name");
+
+    private final String jsonName;
+}
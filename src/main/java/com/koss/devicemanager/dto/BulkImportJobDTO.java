@@ -0,0 +1,47 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@Schema(description = "Progress snapshot of an asynchronous bulk import job")
+public class BulkImportJobDTO {
+
+    @Schema(description = "Unique identifier of the job", example = "5f0c6a1e-8a4b-4c1e-9d0e-1f2a3b4c5d6e")
+    private String id;
+
+    @Schema(description = "Current job status", example = "RUNNING")
+    private BulkImportJobStatus status;
+
+    @Schema(description = "Number of rows submitted", example = "100000")
+    private int totalRows;
+
+    @Schema(description = "Number of rows processed so far, successful or not", example = "25000")
+    private int processedRows;
+
+    @Schema(description = "Number of rows that failed to import", example = "3")
+    private int failedRows;
+
+    @Schema(description = "Average throughput since the job started", example = "4200.5")
+    private double rowsPerSecond;
+
+    @Schema(description = "Estimated seconds until completion, absent when unknown", example = "18", nullable = true)
+    private Long etaSeconds;
+
+    @Schema(description = "Timestamp of when the job was submitted", example = "2023-10-21T15:30:00")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Timestamp of when the job started processing", example = "2023-10-21T15:30:01", nullable = true)
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Timestamp of when the job finished", example = "2023-10-21T15:30:25", nullable = true)
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Rows that failed to import, capped by the configured maximum")
+    private List<BulkImportRowErrorDTO> errors;
+}
@@ -0,0 +1,14 @@
+package com.koss.devicemanager.dto;
+
+public enum BulkImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_ERRORS,
+    CANCELLED,
+    FAILED;
+
+    public boolean isFinished() {
+        return this != QUEUED && this != RUNNING;
+    }
+}
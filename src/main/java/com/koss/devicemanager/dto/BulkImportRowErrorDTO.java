@@ -0,0 +1,21 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A single row that could not be imported")
+public class BulkImportRowErrorDTO {
+
+    @Schema(description = "Zero-based index of the row in the submitted payload", example = "42")
+    private int rowIndex;
+
+    @Schema(description = "Reason the row was rejected", example = "could not execute statement")
+    private String message;
+}
@@ -0,0 +1,29 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of an idempotent bulk upsert")
+public class BulkUpsertResultDTO {
+
+    @Schema(description = "Number of devices that did not exist and were inserted", example = "12")
+    private int inserted;
+
+    @Schema(description = "Number of existing devices whose name or brand changed", example = "3")
+    private int updated;
+
+    @Schema(description = "Number of devices that already matched and were skipped without a write", example = "99985")
+    private int unchanged;
+
+    @Schema(description = "Inserted devices followed by updated devices")
+    private List<DeviceDTO> changedDevices;
+}
@@ -0,0 +1,24 @@
+package com.koss.devicemanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Tells other application instances to drop cached copies of a device or brand. A null
+ * {@code entityId} stands for every entity of the type.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationDTO {
+    private ChangeEntityType entityType;
+    private Long entityId;
+    private String originNode;
+
+    public boolean isAll() {
+        return entityId == null;
+    }
+}
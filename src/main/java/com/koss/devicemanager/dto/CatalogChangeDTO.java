@@ -0,0 +1,49 @@
+package com.koss.devicemanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "A single change to the device catalog, as delivered by the change feed")
+public class CatalogChangeDTO {
+
+    @Schema(description = "Monotonically increasing position of the change in the feed; resume from the last one seen", example = "1042")
+    private Long sequence;
+
+    @Schema(description = "Kind of entity that changed", example = "DEVICE")
+    private ChangeEntityType entityType;
+
+    @Schema(description = "What happened to the entity", example = "UPDATED")
+    private ChangeType changeType;
+
+    @Schema(description = "Identifier of the changed entity; absent for CLEARED", example = "1")
+    private Long id;
+
+    @Schema(description = "Name of the device or brand after the change", example = "Smartphone")
+    private String name;
+
+    @Schema(description = "Brand of the device after the change", example = "Samsung")
+    private String brand;
+
+    @Schema(description = "Brand of the device before the change, or the previous name of a renamed brand", example = "Apple")
+    private String previousBrand;
+
+    @Schema(description = "Creation time of the device", example = "2023-10-21T15:30:00")
+    private LocalDateTime creationTime;
+
+    @Schema(description = "External identifier of the device, when it has one", example = "SKU-12345")
+    private String externalId;
+
+    @Schema(description = "When the change was committed", example = "2023-10-21T15:30:00")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,6 @@
+package com.koss.devicemanager.dto;
+
+public enum ChangeEntityType {
+    DEVICE,
+    BRAND
+}
@@ -0,0 +1,26 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changes following a given sequence number")
+public class ChangeFeedPageDTO {
+
+    @Schema(description = "Changes in sequence order")
+    private List<CatalogChangeDTO> changes;
+
+    @Schema(description = "Sequence number of the latest change in the feed", example = "1042")
+    private long lastSequence;
+
+    @Schema(description = "True when changes after the requested sequence are no longer retained; reload the catalog and resume from lastSequence", example = "false")
+    private boolean resyncRequired;
+}
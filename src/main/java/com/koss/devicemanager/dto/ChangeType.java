@@ -0,0 +1,11 @@
+package com.koss.devicemanager.dto;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /**
+     * Every entity of the type was removed at once; consumers should drop their whole copy.
+     */
+    CLEARED
+}
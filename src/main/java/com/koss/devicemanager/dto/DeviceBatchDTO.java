@@ -0,0 +1,23 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a multi-get of devices by ID")
+public class DeviceBatchDTO {
+
+    @Schema(description = "Devices that were found, in the order their IDs were requested")
+    private List<DeviceDTO> devices;
+
+    @Schema(description = "Requested IDs that do not match any device", example = "[7, 42]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,26 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of devices of one brand created within one time bucket")
+public class DeviceCreationBucketDTO {
+
+    @Schema(description = "Brand of the counted devices", example = "Samsung")
+    private String brand;
+
+    @Schema(description = "Start of the bucket; the bucket spans one minute, hour or day", example = "2023-10-21T15:00:00")
+    private LocalDateTime bucketStart;
+
+    @Schema(description = "Devices created in the bucket that still exist", example = "42")
+    private long count;
+}
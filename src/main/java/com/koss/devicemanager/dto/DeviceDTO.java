@@ -1,5 +1,6 @@
 package com.koss.devicemanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 @Schema(description = "Data Transfer Object representing a device entity")
 public class DeviceDTO {
 
@@ -27,4 +29,8 @@ public class DeviceDTO {
 
     @Schema(description = "Timestamp of when the device was created", example = "2023-10-21T15:30:00", accessMode = Schema.AccessMode.READ_ONLY)
     private LocalDateTime creationTime;
+
+    @Schema(description = "Optional identifier of the device in the client's own system, used as the upsert key for catalog syncs", example = "SKU-12345", nullable = true)
+    @Size(max = 100, message = "External id must be at most 100 characters")
+    private String externalId;
 }
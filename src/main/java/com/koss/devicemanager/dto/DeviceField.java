@@ -0,0 +1,21 @@
+package com.koss.devicemanager.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Device attributes that can be requested through the {@code fields} parameter, with the JSON
+ * name clients use and the entity path they are selected from.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum DeviceField {
+    ID("id", "id"),
+    NAME("name", "name"),
+    BRAND("brand", "brand.name"),
+    CREATION_TIME("creationTime", "creationTime"),
+    EXTERNAL_ID("externalId", "externalId");
+
+    private final String jsonName;
+    private final String path;
+}
@@ -0,0 +1,29 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Partial update of a single device within a bulk patch; null fields are left unchanged")
+public class DevicePatchDTO {
+
+    @Schema(description = "Identifier of the device to patch", example = "1", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Device id is required")
+    private Long id;
+
+    @Schema(description = "New name of the device", example = "Smartphone", nullable = true)
+    @Size(min = 2, max = 50, message = "Device name must be between 2 and 50 characters")
+    private String name;
+
+    @Schema(description = "New brand of the device, created when it does not exist yet", example = "Samsung", nullable = true)
+    @Size(min = 1, message = "Brand must not be empty")
+    private String brand;
+}
@@ -0,0 +1,24 @@
+package com.koss.devicemanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A validation error in one row of a bulk payload")
+public class RowValidationErrorDTO {
+
+    @Schema(description = "Zero-based index of the row in the submitted payload", example = "42")
+    private int rowIndex;
+
+    @Schema(description = "Field the error applies to; absent when the row itself could not be read", example = "name", nullable = true)
+    private String field;
+
+    @Schema(description = "Reason the row was rejected", example = "Device name is required")
+    private String message;
+}
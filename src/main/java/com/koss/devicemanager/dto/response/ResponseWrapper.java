@@ -23,6 +23,9 @@ public class ResponseWrapper<T> {
     @Schema(description = "Total number of elements for paginated data", example = "100", nullable = true)
     private long totalElements;
 
+    @Schema(description = "Cursor for the next page of a keyset-paginated listing; absent when nothing has matched yet", example = "MjAyNC0wMy0wMVQxMjowMHw0Mg", nullable = true)
+    private String nextCursor;
+
     public ResponseWrapper(T data, String message, boolean success) {
         this.data = data;
         this.message = message;
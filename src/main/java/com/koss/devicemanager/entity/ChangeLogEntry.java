@@ -0,0 +1,71 @@
+package com.koss.devicemanager.entity;
+
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted copy of the change feed. The sequence is assigned by the feed rather than generated,
+ * so the entity implements {@link Persistable} to let saveAll insert without a prior select.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@Table(name = "change_log", indexes = @Index(name = "idx_change_log_occurred_at", columnList = "occurred_at"))
+public class ChangeLogEntry implements Persistable<Long> {
+    @Id
+    private Long sequence;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeEntityType entityType;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+    private Long entityId;
+    private String name;
+    private String brand;
+    private String previousBrand;
+    private LocalDateTime creationTime;
+    @Column(length = 100)
+    private String externalId;
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean persisted;
+
+    @Override
+    public Long getId() {
+        return sequence;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.koss.devicemanager.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single row holding the last change feed sequence handed out. Writers lock it right before
+ * they commit, so sequences are allocated in commit order across all instances, and a rolled back
+ * allocation is rolled back with the write and leaves no gap.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "change_log_sequence")
+public class ChangeLogSequence {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+    @Column(nullable = false)
+    private long lastSequence;
+}
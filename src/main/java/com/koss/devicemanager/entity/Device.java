@@ -5,9 +5,11 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -20,6 +22,11 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_device_brand_name", columnList = "brand_id, name"),
+        @Index(name = "idx_device_creation_time", columnList = "creation_time, id"),
+        @Index(name = "idx_device_brand_creation_time", columnList = "brand_id, creation_time, id")
+})
 public class Device {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +38,8 @@ public class Device {
     private Brand brand;
     @Column(nullable = false)
     private LocalDateTime creationTime;
+    @Column(unique = true, length = 100)
+    private String externalId;
 
     @PrePersist
     protected void onCreate() {
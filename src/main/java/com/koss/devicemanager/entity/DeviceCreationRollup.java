@@ -0,0 +1,44 @@
+package com.koss.devicemanager.entity;
+
+import com.koss.devicemanager.dto.RollupGranularity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Count of existing devices per brand whose creation time falls into one bucket. Maintained
+ * incrementally from catalog changes, so reports do not scan the device table.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "device_creation_rollup", uniqueConstraints = @UniqueConstraint(
+        name = "uk_device_creation_rollup_bucket", columnNames = {"granularity", "bucket_start", "brand"}))
+public class DeviceCreationRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+    @Column(nullable = false)
+    private String brand;
+    @Column(nullable = false)
+    private long deviceCount;
+}
@@ -0,0 +1,43 @@
+package com.koss.devicemanager.entity;
+
+import com.koss.devicemanager.dto.RollupGranularity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change to one rollup bucket, written in the same transaction as the catalog write it stems from
+ * and folded into {@link DeviceCreationRollup} by the next flush. Rows are only ever inserted and
+ * deleted, so concurrent writes to the same bucket do not contend.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "device_creation_rollup_delta")
+public class DeviceCreationRollupDelta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+    @Column(nullable = false)
+    private String brand;
+    @Column(nullable = false)
+    private long deviceCount;
+}
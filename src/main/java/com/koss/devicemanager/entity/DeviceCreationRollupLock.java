@@ -0,0 +1,26 @@
+package com.koss.devicemanager.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The single row that writers of {@link DeviceCreationRollup} lock, so flushes, brand renames and
+ * clears are serialized across all instances and never interleave their reads and writes.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "device_creation_rollup_lock")
+public class DeviceCreationRollupLock {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+}
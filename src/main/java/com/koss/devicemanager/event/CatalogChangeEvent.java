@@ -0,0 +1,42 @@
+package com.koss.devicemanager.event;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by the catalog services for every write. Bulk operations publish one event per
+ * transaction rather than one per row, so listeners can handle a whole chunk at once.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogChangeEvent {
+    private final List<CatalogChangeDTO> changes;
+
+    public static CatalogChangeDTO deviceChange(ChangeType type, Device device, String previousBrand) {
+        return new CatalogChangeDTO(null, ChangeEntityType.DEVICE, type, device.getId(), device.getName(),
+                device.getBrand().getName(), previousBrand, device.getCreationTime(), device.getExternalId(), LocalDateTime.now());
+    }
+
+    public static CatalogChangeDTO deviceDeleted(Device device) {
+        return new CatalogChangeDTO(null, ChangeEntityType.DEVICE, ChangeType.DELETED, device.getId(), null,
+                device.getBrand().getName(), null, device.getCreationTime(), null, LocalDateTime.now());
+    }
+
+    public static CatalogChangeDTO devicesCleared() {
+        return new CatalogChangeDTO(null, ChangeEntityType.DEVICE, ChangeType.CLEARED, null, null,
+                null, null, null, null, LocalDateTime.now());
+    }
+
+    public static CatalogChangeDTO brandChange(ChangeType type, Brand brand, String previousName) {
+        return new CatalogChangeDTO(null, ChangeEntityType.BRAND, type, brand.getId(), brand.getName(),
+                null, previousName, null, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,19 @@
+package com.koss.devicemanager.event;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published by the change feed for every batch of committed changes, in sequence order and without
+ * gaps, so listeners see the changes in the order they committed. Includes changes committed by
+ * other instances once they are read back from the change log. Listeners run while the feed holds
+ * its publishing lock and must not block.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogChangeFeedEvent {
+    private final List<CatalogChangeDTO> changes;
+}
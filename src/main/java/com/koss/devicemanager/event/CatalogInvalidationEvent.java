@@ -0,0 +1,17 @@
+package com.koss.devicemanager.event;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Published when another application instance has changed the catalog. Local caches holding any
+ * of the listed entities must drop them; the changes themselves are not included.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CatalogInvalidationEvent {
+    private final List<CacheInvalidationDTO> invalidations;
+}
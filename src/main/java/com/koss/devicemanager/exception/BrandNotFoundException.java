@@ -1,9 +1,7 @@
 package com.koss.devicemanager.exception;
 
-import jakarta.persistence.PersistenceException;
-
-public class BrandNotFoundException extends PersistenceException {
+public class BrandNotFoundException extends ResourceNotFoundException {
     public BrandNotFoundException(Long id) {
-        super(String.format("Brand with id %d not found", id));
+        super("Brand with id " + id + " not found");
     }
 }
@@ -0,0 +1,7 @@
+package com.koss.devicemanager.exception;
+
+public class BulkImportJobNotFoundException extends ResourceNotFoundException {
+    public BulkImportJobNotFoundException(String id) {
+        super("Bulk import job with id " + id + " not found");
+    }
+}
@@ -0,0 +1,24 @@
+package com.koss.devicemanager.exception;
+
+import com.koss.devicemanager.dto.RowValidationErrorDTO;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Rejects a bulk payload with invalid rows. {@code stoppedEarly} tells whether reading stopped at
+ * the error cap or at an unreadable row, in which case later rows were not checked.
+ */
+@Getter
+public class BulkValidationException extends RuntimeException {
+    private final List<RowValidationErrorDTO> errors;
+    private final boolean stoppedEarly;
+
+    public BulkValidationException(List<RowValidationErrorDTO> errors, boolean stoppedEarly) {
+        super(stoppedEarly
+                ? "Validation stopped after " + errors.size() + " error(s)"
+                : "Validation failed with " + errors.size() + " error(s)", null, false, false);
+        this.errors = List.copyOf(errors);
+        this.stoppedEarly = stoppedEarly;
+    }
+}
@@ -1,10 +1,7 @@
 package com.koss.devicemanager.exception;
 
-import jakarta.persistence.PersistenceException;
-
-public class DeviceNotFoundException extends PersistenceException {
+public class DeviceNotFoundException extends ResourceNotFoundException {
     public DeviceNotFoundException(Long id) {
-        super(String.format("Device with id %d not found", id));
+        super("Device with id " + id + " not found");
     }
 }
-
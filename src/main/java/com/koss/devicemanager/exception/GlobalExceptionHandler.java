@@ -1,6 +1,8 @@
 package com.koss.devicemanager.exception;
 
+import com.koss.devicemanager.dto.RowValidationErrorDTO;
 import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
+import com.koss.devicemanager.util.LogSampler;
 import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -9,13 +11,31 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
 @RestControllerAdvice
 @Slf4j
 public class GlobalExceptionHandler {
+    // Client errors can make up a large share of traffic, e.g. retries for deleted devices; they are logged by sample.
+    private static final double CLIENT_ERROR_LOG_LINES_PER_SECOND = 1;
+    private static final int CLIENT_ERROR_LOG_BURST = 10;
+
+    private final LogSampler notFoundLog = new LogSampler(CLIENT_ERROR_LOG_LINES_PER_SECOND, CLIENT_ERROR_LOG_BURST);
+    private final LogSampler badRequestLog = new LogSampler(CLIENT_ERROR_LOG_LINES_PER_SECOND, CLIENT_ERROR_LOG_BURST);
+
+    /**
+     * Handles ResourceNotFoundException for lookups of missing devices, brands and jobs.
+     */
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ExceptionResponseWrapper<Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
+        notFoundLog.log(suppressed -> log.warn("{} ({} similar suppressed)", ex.getMessage(), suppressed));
+        var response = new ExceptionResponseWrapper<>(null, HttpStatus.NOT_FOUND.value(), ex.getMessage(), false);
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
 
     /**
      * Handles PersistenceException and its subclasses.
@@ -36,11 +56,63 @@ public class GlobalExceptionHandler {
         for (FieldError error : ex.getBindingResult().getFieldErrors()) {
             errors.put(error.getField(), error.getDefaultMessage());
         }
-        log.warn("Validation failed: {}", errors);
+        badRequestLog.log(suppressed -> log.warn("Validation failed: {} ({} similar suppressed)", errors, suppressed));
         var response = new ExceptionResponseWrapper<>(errors, HttpStatus.BAD_REQUEST.value(), "Validation failed", false);
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles BulkValidationException for bulk payloads with invalid rows.
+     */
+    @ExceptionHandler(BulkValidationException.class)
+    public ResponseEntity<ExceptionResponseWrapper<List<RowValidationErrorDTO>>> handleBulkValidationException(BulkValidationException ex) {
+        badRequestLog.log(suppressed -> log.warn("Bulk payload rejected: {}, first error in row {} ({} similar suppressed)",
+                ex.getMessage(), ex.getErrors().get(0).getRowIndex(), suppressed));
+        var response = new ExceptionResponseWrapper<>(ex.getErrors(), HttpStatus.BAD_REQUEST.value(), ex.getMessage(), false);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles InvalidRequestParameterException for malformed query parameters.
+     */
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ExceptionResponseWrapper<Object>> handleInvalidRequestParameterException(InvalidRequestParameterException ex) {
+        badRequestLog.log(suppressed -> log.warn("Invalid request parameter: {} ({} similar suppressed)", ex.getMessage(), suppressed));
+        var response = new ExceptionResponseWrapper<>(null, HttpStatus.BAD_REQUEST.value(), ex.getMessage(), false);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles UnsupportedContentTypeException for bulk payloads in a format that cannot be read.
+     */
+    @ExceptionHandler(UnsupportedContentTypeException.class)
+    public ResponseEntity<ExceptionResponseWrapper<Object>> handleUnsupportedContentTypeException(UnsupportedContentTypeException ex) {
+        badRequestLog.log(suppressed -> log.warn("{} ({} similar suppressed)", ex.getMessage(), suppressed));
+        var response = new ExceptionResponseWrapper<>(null, HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), ex.getMessage(), false);
+        return new ResponseEntity<>(response, HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    /**
+     * Handles MethodArgumentTypeMismatchException for query parameters that cannot be converted, e.g. malformed dates.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ExceptionResponseWrapper<Object>> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        badRequestLog.log(suppressed -> log.warn("Request parameter type mismatch: {} ({} similar suppressed)", ex.getMessage(), suppressed));
+        var message = String.format("Invalid value for parameter '%s': %s", ex.getName(), ex.getValue());
+        var response = new ExceptionResponseWrapper<>(null, HttpStatus.BAD_REQUEST.value(), message, false);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles TooManyBulkImportJobsException when the bulk import job cap is reached.
+     */
+    @ExceptionHandler(TooManyBulkImportJobsException.class)
+    public ResponseEntity<ExceptionResponseWrapper<Object>> handleTooManyBulkImportJobsException(TooManyBulkImportJobsException ex) {
+        log.warn("Bulk import job rejected: {}", ex.getMessage());
+        var response = new ExceptionResponseWrapper<>(null, HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage(), false);
+        return new ResponseEntity<>(response, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     /**
      * Handles any unexpected runtime exceptions.
      */
@@ -0,0 +1,11 @@
+package com.koss.devicemanager.exception;
+
+/**
+ * Rejects a malformed request parameter. Created without a stack trace, since it reports a client
+ * error rather than a fault in the service.
+ */
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String parameter, String reason) {
+        super("Invalid value for parameter '" + parameter + "': " + reason, null, false, false);
+    }
+}
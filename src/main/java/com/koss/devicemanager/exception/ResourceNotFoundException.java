@@ -0,0 +1,18 @@
+package com.koss.devicemanager.exception;
+
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Base for lookups of resources that do not exist. Clients routinely ask for deleted resources, so
+ * these are an expected outcome rather than a fault and are created without a stack trace.
+ */
+public abstract class ResourceNotFoundException extends PersistenceException {
+    protected ResourceNotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,7 @@
+package com.koss.devicemanager.exception;
+
+public class TooManyBulkImportJobsException extends RuntimeException {
+    public TooManyBulkImportJobsException(int maxConcurrentJobs) {
+        super(String.format("Maximum of %d concurrent bulk import jobs reached, retry later", maxConcurrentJobs));
+    }
+}
@@ -0,0 +1,11 @@
+package com.koss.devicemanager.exception;
+
+/**
+ * Rejects a request body in a format the endpoint cannot read. Created without a stack trace, since
+ * it reports a client error rather than a fault in the service.
+ */
+public class UnsupportedContentTypeException extends RuntimeException {
+    public UnsupportedContentTypeException(String contentType) {
+        super(String.format("Unsupported Content-Type '%s'", contentType), null, false, false);
+    }
+}
@@ -0,0 +1,123 @@
+package com.koss.devicemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
+import com.koss.devicemanager.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Sheds load before it reaches the controllers once the adaptive concurrency limit is reached,
+ * answering {@code 503} immediately instead of letting requests wait on the connection pool until
+ * they time out. Each request class may only use a share of the limit, so as the limit shrinks
+ * admin reads are shed first, then user reads, and writes last.
+ * <p>
+ * Server errors and exceptions count as overload signals; client errors do not. Latency is judged
+ * per route, so bulk and admin calls are not held against cheap lookups.
+ */
+@Slf4j
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String UNMAPPED = "unmapped";
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Priority {
+        WRITE(1.0),
+        USER_READ(0.9),
+        ADMIN_READ(0.5);
+
+        private final double share;
+    }
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Map<Priority, Counter> shed = new EnumMap<>(Priority.class);
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limit = limit;
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, Counter.builder("device_manager.concurrency_limit.shed")
+                    .description("Requests rejected because the concurrency limit was reached")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("device_manager.concurrency_limit.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("device_manager.concurrency_limit.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests currently admitted by the concurrency limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var priority = priorityOf(request);
+        if (!limit.tryAcquire(priority.getShare())) {
+            shed.get(priority).increment();
+            log.debug("Shedding {} request {} at concurrency limit {}", priority, request.getRequestURI(), limit.getLimit());
+            reject(response);
+            return;
+        }
+
+        long start = nanoClock.getAsLong();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            limit.release(latencyClassOf(request), nanoClock.getAsLong() - start, failed);
+        }
+    }
+
+    /**
+     * Calls are compared with earlier calls of the same route only, known once the handler is mapped.
+     */
+    static String latencyClassOf(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED);
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        var method = HttpMethod.valueOf(request.getMethod());
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD && method != HttpMethod.OPTIONS) {
+            return Priority.WRITE;
+        }
+        return request.getRequestURI().startsWith(ADMIN_PATH_PREFIX) ? Priority.ADMIN_READ : Priority.USER_READ;
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var body = new ExceptionResponseWrapper<>(null, HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is overloaded, retry later", false);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -0,0 +1,120 @@
+package com.koss.devicemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.koss.devicemanager.dto.response.ExceptionResponseWrapper;
+import com.koss.devicemanager.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Throttles API calls with one token bucket per client and endpoint tier. User and admin endpoints
+ * have separate budgets, so a client looping on the admin listing only exhausts its own admin budget.
+ * <p>
+ * Clients are identified by remote address. The service does not authenticate API keys, so a
+ * caller could mint a fresh key, and with it a fresh bucket, for every request.
+ * <p>
+ * Buckets live in a bounded table. Idle buckets expire once they would have refilled completely,
+ * which loses no state; size-based eviction under a flood of distinct clients may reset a bucket.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final String ADMIN_PATH_PREFIX = "/api/v1/admin/";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public enum Tier {
+        USER,
+        ADMIN
+    }
+
+    public record Budget(double permitsPerSecond, int burst) {
+        Duration refillTime() {
+            return Duration.ofNanos((long) (burst / permitsPerSecond * NANOS_PER_SECOND));
+        }
+    }
+
+    private final Map<Tier, Budget> budgets;
+    private final Cache<String, TokenBucket> buckets;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoClock;
+    private final Map<Tier, Counter> allowed = new EnumMap<>(Tier.class);
+    private final Map<Tier, Counter> throttled = new EnumMap<>(Tier.class);
+
+    public RateLimitFilter(Map<Tier, Budget> budgets, int maxClients, ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.budgets = new EnumMap<>(budgets);
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        var idleExpiry = budgets.values().stream()
+                .map(Budget::refillTime)
+                .max(Duration::compareTo)
+                .orElse(Duration.ZERO)
+                .plusSeconds(1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleExpiry)
+                .build();
+        for (Tier tier : Tier.values()) {
+            allowed.put(tier, Counter.builder("device_manager.rate_limit.requests")
+                    .description("API requests checked against the per-client rate limit")
+                    .tag("tier", tier.name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", "allowed")
+                    .register(meterRegistry));
+            throttled.put(tier, Counter.builder("device_manager.rate_limit.requests")
+                    .description("API requests checked against the per-client rate limit")
+                    .tag("tier", tier.name().toLowerCase(Locale.ROOT))
+                    .tag("outcome", "throttled")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("device_manager.rate_limit.clients", buckets, Cache::estimatedSize)
+                .description("Clients currently tracked by the rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        var tier = request.getRequestURI().startsWith(ADMIN_PATH_PREFIX) ? Tier.ADMIN : Tier.USER;
+        var client = request.getRemoteAddr();
+        var budget = budgets.get(tier);
+        long now = nanoClock.getAsLong();
+        var bucket = buckets.get(tier + "|" + client,
+                key -> new TokenBucket(budget.permitsPerSecond(), budget.burst(), now));
+
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos == 0) {
+            allowed.get(tier).increment();
+            chain.doFilter(request, response);
+            return;
+        }
+
+        throttled.get(tier).increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        log.debug("Rate limit exceeded for {} on {} endpoints, retry after {}s", client, tier, retryAfterSeconds);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        var body = new ExceptionResponseWrapper<>(null, HttpStatus.TOO_MANY_REQUESTS.value(),
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " seconds", false);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+}
@@ -1,13 +1,35 @@
 package com.koss.devicemanager.mapper;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.BrandField;
 import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.repository.BrandDeviceCount;
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.Set;
 
 @Mapper(componentModel = "spring")
 public interface BrandMapper {
+    @Mapping(target = "deviceCount", ignore = true)
     BrandDTO toDTO(Brand brand);
 
+    BrandDTO toCountedDTO(BrandDeviceCount brandDeviceCount);
+
     Brand toEntity(BrandDTO brandDTO);
-}
 
+    /**
+     * Builds a DTO from a projection, populating only the selected fields.
+     */
+    default BrandDTO toProjectedDTO(Tuple tuple, Set<BrandField> fields) {
+        var dto = new BrandDTO();
+        for (BrandField field : fields) {
+            switch (field) {
+                case ID -> dto.setId(tuple.get(field.getJsonName(), Long.class));
+                case NAME -> dto.setName(tuple.get(field.getJsonName(), String.class));
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,15 @@
+package com.koss.devicemanager.mapper;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.entity.CacheInvalidationEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface CacheInvalidationMapper {
+    CacheInvalidationDTO toDTO(CacheInvalidationEntry entry);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
+    CacheInvalidationEntry toEntity(CacheInvalidationDTO invalidation);
+}
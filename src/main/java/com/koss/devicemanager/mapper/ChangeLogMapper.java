@@ -0,0 +1,15 @@
+package com.koss.devicemanager.mapper;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.entity.ChangeLogEntry;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface ChangeLogMapper {
+    @Mapping(source = "entityId", target = "id")
+    CatalogChangeDTO toDTO(ChangeLogEntry entry);
+
+    @Mapping(source = "id", target = "entityId")
+    ChangeLogEntry toEntity(CatalogChangeDTO change);
+}
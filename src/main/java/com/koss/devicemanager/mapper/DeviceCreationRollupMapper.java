@@ -0,0 +1,12 @@
+package com.koss.devicemanager.mapper;
+
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.entity.DeviceCreationRollup;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface DeviceCreationRollupMapper {
+    @Mapping(source = "deviceCount", target = "count")
+    DeviceCreationBucketDTO toDTO(DeviceCreationRollup rollup);
+}
@@ -1,10 +1,15 @@
 package com.koss.devicemanager.mapper;
 
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
 import com.koss.devicemanager.entity.Device;
+import jakarta.persistence.Tuple;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 @Mapper(componentModel = "spring")
 public interface DeviceMapper {
     @Mapping(source = "brand.name", target = "brand")
@@ -12,5 +17,21 @@ public interface DeviceMapper {
 
     @Mapping(source = "brand", target = "brand.name")
     Device toEntity(DeviceDTO deviceDTO);
-}
 
+    /**
+     * Builds a DTO from a projection, populating only the selected fields.
+     */
+    default DeviceDTO toProjectedDTO(Tuple tuple, Set<DeviceField> fields) {
+        var dto = new DeviceDTO();
+        for (DeviceField field : fields) {
+            switch (field) {
+                case ID -> dto.setId(tuple.get(field.getJsonName(), Long.class));
+                case NAME -> dto.setName(tuple.get(field.getJsonName(), String.class));
+                case BRAND -> dto.setBrand(tuple.get(field.getJsonName(), String.class));
+                case CREATION_TIME -> dto.setCreationTime(tuple.get(field.getJsonName(), LocalDateTime.class));
+                case EXTERNAL_ID -> dto.setExternalId(tuple.get(field.getJsonName(), String.class));
+            }
+        }
+        return dto;
+    }
+}
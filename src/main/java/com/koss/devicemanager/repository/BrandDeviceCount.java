@@ -0,0 +1,12 @@
+package com.koss.devicemanager.repository;
+
+/**
+ * Projection of a brand together with the number of its devices.
+ */
+public interface BrandDeviceCount {
+    Long getId();
+
+    String getName();
+
+    Long getDeviceCount();
+}
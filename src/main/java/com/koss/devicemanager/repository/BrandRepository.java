@@ -1,11 +1,32 @@
 package com.koss.devicemanager.repository;
 
 import com.koss.devicemanager.entity.Brand;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
-public interface BrandRepository extends JpaRepository<Brand, Long> {
+public interface BrandRepository extends JpaRepository<Brand, Long>, BrandRepositoryCustom {
     Optional<Brand> findByName(String name);
-}
 
+    @Query("SELECT b.name FROM Brand b")
+    List<String> findAllNames();
+
+    /**
+     * Counts devices per brand in a single grouped query over the (brand_id, name) index.
+     * Brands without devices are included with a count of zero.
+     */
+    @Query("SELECT b.id AS id, b.name AS name, count(d.id) AS deviceCount "
+            + "FROM Brand b LEFT JOIN Device d ON d.brand = b GROUP BY b.id, b.name ORDER BY b.name")
+    List<BrandDeviceCount> findAllWithDeviceCount();
+
+    /**
+     * Locking read, so a row committed by a concurrent upsert is visible even under repeatable read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT b FROM Brand b WHERE b.name = ?1")
+    Optional<Brand> findByNameForShare(String name);
+}
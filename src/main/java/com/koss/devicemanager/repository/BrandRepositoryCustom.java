@@ -0,0 +1,30 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.BrandField;
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Set;
+
+public interface BrandRepositoryCustom {
+    /**
+     * Inserts a brand with the given name unless one already exists, in a single statement that
+     * never fails on the unique name constraint. The id comes back with the statement.
+     */
+    InsertResult insertIfAbsent(String name);
+
+    /**
+     * Selects only the requested brand columns, each aliased with the field's JSON name.
+     */
+    List<Tuple> findProjected(Set<BrandField> fields);
+
+    /**
+     * Outcome of {@link #insertIfAbsent(String)}. The id of a brand that already existed is only
+     * returned by MySQL, and is null elsewhere.
+     *
+     * @param id       id of the brand with the name
+     * @param inserted whether the brand was inserted by this call
+     */
+    record InsertResult(Long id, boolean inserted) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.BrandField;
+import com.koss.devicemanager.entity.Brand;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public class BrandRepositoryCustomImpl implements BrandRepositoryCustom {
+    // Run over JDBC rather than as a native query, which cannot return generated keys.
+    // On a duplicate, MySQL leaves the row unchanged (0 affected rows, see useAffectedRows) and hands
+    // back its id as the generated key.
+    private static final InsertIfAbsent MYSQL_ON_DUPLICATE_KEY = new InsertIfAbsent(
+            "INSERT INTO brand (name) VALUES (?) ON DUPLICATE KEY UPDATE id = LAST_INSERT_ID(id)", 1, true);
+    private static final InsertIfAbsent POSTGRES_ON_CONFLICT = new InsertIfAbsent(
+            "INSERT INTO brand (name) VALUES (?) ON CONFLICT (name) DO NOTHING", 1, false);
+    // A concurrent insert of the same name fails this one with a unique violation instead
+    private static final InsertIfAbsent H2_INSERT_SELECT = new InsertIfAbsent(
+            "INSERT INTO brand (name) SELECT CAST(? AS VARCHAR(255)) WHERE NOT EXISTS (SELECT 1 FROM brand WHERE name = ?)", 2, false);
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final String[] GENERATED_COLUMNS = {"id"};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile InsertIfAbsent insertIfAbsent;
+
+    @Override
+    public InsertResult insertIfAbsent(String name) {
+        var insert = insertIfAbsent();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (var statement = connection.prepareStatement(insert.sql(), GENERATED_COLUMNS)) {
+                for (int i = 1; i <= insert.nameParameters(); i++) {
+                    statement.setString(i, name);
+                }
+                boolean inserted;
+                try {
+                    inserted = statement.executeUpdate() > 0;
+                } catch (SQLException ex) {
+                    if (!UNIQUE_VIOLATION.equals(ex.getSQLState())) {
+                        throw ex;
+                    }
+                    return new InsertResult(null, false);
+                }
+                if (!inserted && !insert.returnsExistingId()) {
+                    return new InsertResult(null, false);
+                }
+                try (var keys = statement.getGeneratedKeys()) {
+                    return new InsertResult(keys.next() ? keys.getLong(1) : null, inserted);
+                }
+            }
+        });
+    }
+
+    @Override
+    public List<Tuple> findProjected(Set<BrandField> fields) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createTupleQuery();
+        var brand = query.from(Brand.class);
+        List<Selection<?>> selections = fields.stream()
+                .<Selection<?>>map(field -> brand.get(field.getJsonName()).alias(field.getJsonName()))
+                .toList();
+        return entityManager.createQuery(query.multiselect(selections).orderBy(cb.asc(brand.get("id"))))
+                .getResultList();
+    }
+
+    private InsertIfAbsent insertIfAbsent() {
+        if (insertIfAbsent == null) {
+            var product = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName())
+                    .toLowerCase(Locale.ROOT);
+            if (product.contains("mysql") || product.contains("mariadb")) {
+                insertIfAbsent = MYSQL_ON_DUPLICATE_KEY;
+            } else if (product.contains("postgres")) {
+                insertIfAbsent = POSTGRES_ON_CONFLICT;
+            } else {
+                insertIfAbsent = H2_INSERT_SELECT;
+            }
+        }
+        return insertIfAbsent;
+    }
+
+    private record InsertIfAbsent(String sql, int nameParameters, boolean returnsExistingId) {
+    }
+}
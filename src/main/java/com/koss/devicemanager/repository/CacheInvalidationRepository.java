@@ -0,0 +1,22 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.entity.CacheInvalidationEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidationEntry, Long> {
+    List<CacheInvalidationEntry> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    @Query("SELECT max(e.id) from CacheInvalidationEntry e")
+    Optional<Long> findMaxId();
+
+    @Modifying
+    @Query("DELETE from CacheInvalidationEntry e where e.createdAt < ?1")
+    int deleteOlderThan(LocalDateTime cutoff);
+}
@@ -0,0 +1,25 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+    List<ChangeLogEntry> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Pageable pageable);
+
+    @Query("SELECT max(e.sequence) from ChangeLogEntry e")
+    Optional<Long> findMaxSequence();
+
+    /**
+     * Never deletes entries from {@code belowSequence} on, which readers may not have seen yet.
+     */
+    @Modifying
+    @Query("DELETE from ChangeLogEntry e where e.occurredAt < ?1 and e.sequence < ?2")
+    int deleteOlderThan(LocalDateTime cutoff, long belowSequence);
+}
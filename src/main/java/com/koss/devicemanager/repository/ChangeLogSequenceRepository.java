@@ -0,0 +1,18 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.entity.ChangeLogSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface ChangeLogSequenceRepository extends JpaRepository<ChangeLogSequence, Integer> {
+    /**
+     * Locks the sequence row until the surrounding transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ChangeLogSequence s WHERE s.id = " + ChangeLogSequence.ID)
+    Optional<ChangeLogSequence> findForUpdate();
+}
@@ -0,0 +1,110 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.entity.Device;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Set-based access for bulk operations. Statements go straight to JDBC, bypassing the persistence
+ * context, so callers must not rely on managed entities reflecting them. Each element of an array
+ * returned by a batch write is the row count of the matching statement, or
+ * {@link java.sql.Statement#SUCCESS_NO_INFO} when the driver does not report it.
+ */
+@Repository
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class DeviceBatchRepository {
+    private static final String INSERT = "INSERT INTO device (name, brand_id, creation_time, external_id) VALUES (?, ?, ?, ?)";
+    private static final String UPDATE_NAME_AND_BRAND = "UPDATE device SET name = ?, brand_id = ? WHERE id = ?";
+    private static final String DELETE_BY_ID = "DELETE FROM device WHERE id = ?";
+    private static final String SCAN_ALL = "SELECT d.id, d.name, b.name AS brand, d.creation_time, d.external_id "
+            + "FROM device d JOIN brand b ON b.id = d.brand_id ORDER BY d.id";
+    private static final String SCAN_IDS = "SELECT id FROM device";
+    private static final int SCAN_FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the devices as one batch and sets their generated ids, and their creation time when
+     * missing, on the given instances. Hibernate cannot batch these inserts, as device ids come from
+     * an identity column it has to read back after every row.
+     */
+    public List<Device> insertAll(List<Device> devices) {
+        if (devices.isEmpty()) {
+            return devices;
+        }
+        var creationTime = LocalDateTime.now();
+        devices.stream().filter(device -> device.getCreationTime() == null)
+                .forEach(device -> device.setCreationTime(creationTime));
+        var keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        var device = devices.get(i);
+                        ps.setString(1, device.getName());
+                        ps.setLong(2, device.getBrand().getId());
+                        ps.setTimestamp(3, Timestamp.valueOf(device.getCreationTime()));
+                        ps.setString(4, device.getExternalId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return devices.size();
+                    }
+                }, keys);
+        var generated = keys.getKeyList();
+        for (int i = 0; i < devices.size(); i++) {
+            // The key column is named differently per driver, but it is the only one requested
+            devices.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+        return devices;
+    }
+
+    public int[] updateNameAndBrand(List<Device> devices) {
+        return jdbcTemplate.batchUpdate(UPDATE_NAME_AND_BRAND, devices, devices.size(), (ps, device) -> {
+            ps.setString(1, device.getName());
+            ps.setLong(2, device.getBrand().getId());
+            ps.setLong(3, device.getId());
+        })[0];
+    }
+
+    /**
+     * Streams every device with its brand name in id order, without materializing entities.
+     * Columns: id, name, brand, creation_time, external_id.
+     */
+    public void scanAll(RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SCAN_ALL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Streams every device id, in no particular order.
+     */
+    public void scanIds(LongConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(SCAN_IDS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(SCAN_FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getLong(1)));
+    }
+
+    public int[] deleteByIds(List<Long> ids) {
+        return jdbcTemplate.batchUpdate(DELETE_BY_ID, ids, ids.size(), (ps, id) -> ps.setLong(1, id))[0];
+    }
+}
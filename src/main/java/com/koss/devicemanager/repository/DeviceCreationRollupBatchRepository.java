@@ -0,0 +1,151 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.entity.DeviceCreationRollup;
+import com.koss.devicemanager.entity.DeviceCreationRollupLock;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC-batched writes to the device creation rollups and their delta journal. Callers hold
+ * {@link #lock()} while they write the rollups, so the update-then-insert in {@link #addCounts(List)}
+ * cannot race with itself or with a brand rename, on this instance or any other.
+ */
+@Repository
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class DeviceCreationRollupBatchRepository {
+    private static final String ADD_COUNT = "UPDATE device_creation_rollup SET device_count = device_count + ? "
+            + "WHERE granularity = ? AND bucket_start = ? AND brand = ?";
+    private static final String INSERT = "INSERT INTO device_creation_rollup (granularity, bucket_start, brand, device_count) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String FIND_BRAND = "SELECT id, granularity, bucket_start, brand, device_count "
+            + "FROM device_creation_rollup WHERE brand = ?";
+    private static final String DELETE_BRAND = "DELETE FROM device_creation_rollup WHERE brand = ?";
+    private static final String DELETE_ALL = "DELETE FROM device_creation_rollup";
+    private static final String APPEND_DELTA = "INSERT INTO device_creation_rollup_delta (granularity, bucket_start, brand, device_count) "
+            + "VALUES (?, ?, ?, ?)";
+    private static final String FIND_DELTAS = "SELECT id, granularity, bucket_start, brand, device_count "
+            + "FROM device_creation_rollup_delta WHERE id > ? ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String DELETE_DELTA = "DELETE FROM device_creation_rollup_delta WHERE id = ?";
+    private static final String RENAME_DELTA_BRAND = "UPDATE device_creation_rollup_delta SET brand = ? WHERE brand = ?";
+    private static final String DELETE_ALL_DELTAS = "DELETE FROM device_creation_rollup_delta";
+    private static final String DELETE_OLDER_THAN = "DELETE FROM device_creation_rollup WHERE granularity = ? AND bucket_start < ?";
+    private static final String LOCK = "SELECT id FROM device_creation_rollup_lock WHERE id = ? FOR UPDATE";
+    private static final String CREATE_LOCK = "INSERT INTO device_creation_rollup_lock (id) VALUES (?)";
+    private static final RowMapper<DeviceCreationRollup> ROLLUP_MAPPER = (rs, rowNum) -> new DeviceCreationRollup(rs.getLong("id"),
+            RollupGranularity.valueOf(rs.getString("granularity")), rs.getTimestamp("bucket_start").toLocalDateTime(),
+            rs.getString("brand"), rs.getLong("device_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Locks the rollups until the surrounding transaction ends, creating the lock row on first use.
+     */
+    public void lock() {
+        if (!jdbcTemplate.queryForList(LOCK, Integer.class, DeviceCreationRollupLock.ID).isEmpty()) {
+            return;
+        }
+        try {
+            // The inserted row stays locked until the transaction ends
+            jdbcTemplate.update(CREATE_LOCK, DeviceCreationRollupLock.ID);
+        } catch (DuplicateKeyException ex) {
+            // Another transaction created the row first
+            jdbcTemplate.queryForList(LOCK, Integer.class, DeviceCreationRollupLock.ID);
+        }
+    }
+
+    /**
+     * Adds each row's {@code deviceCount} to the stored count of its bucket, inserting buckets seen for
+     * the first time. Rows counting zero are skipped, as their update would change no row.
+     */
+    public void addCounts(List<DeviceCreationRollup> rows) {
+        var deltas = rows.stream().filter(row -> row.getDeviceCount() != 0).toList();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(ADD_COUNT, deltas, deltas.size(), (ps, delta) -> {
+            ps.setLong(1, delta.getDeviceCount());
+            ps.setString(2, delta.getGranularity().name());
+            ps.setTimestamp(3, Timestamp.valueOf(delta.getBucketStart()));
+            ps.setString(4, delta.getBrand());
+        })[0];
+        List<DeviceCreationRollup> missing = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                missing.add(deltas.get(i));
+            }
+        }
+        insertAll(missing);
+    }
+
+    public void insertAll(List<DeviceCreationRollup> rows) {
+        insert(INSERT, rows);
+    }
+
+    /**
+     * Journals each row's {@code deviceCount} as a change to its bucket, for a later {@link #addCounts(List)}.
+     */
+    public void appendDeltas(List<DeviceCreationRollup> deltas) {
+        insert(APPEND_DELTA, deltas);
+    }
+
+    /**
+     * Claims committed journaled deltas in id order, with the journal id as their id. The rows stay
+     * locked until the transaction ends, so no other flush can apply them as well.
+     */
+    public List<DeviceCreationRollup> claimDeltas(long afterId, int limit) {
+        return jdbcTemplate.query(FIND_DELTAS, ROLLUP_MAPPER, afterId, limit);
+    }
+
+    public void deleteDeltas(List<Long> ids) {
+        jdbcTemplate.batchUpdate(DELETE_DELTA, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+    }
+
+    private void insert(String sql, List<DeviceCreationRollup> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.getGranularity().name());
+            ps.setTimestamp(2, Timestamp.valueOf(row.getBucketStart()));
+            ps.setString(3, row.getBrand());
+            ps.setLong(4, row.getDeviceCount());
+        });
+    }
+
+    /**
+     * Renames the brand in the deltas not folded into the rollups yet, and moves its rollups onto the
+     * new name. The rows are deleted before their counts are added, so buckets that a deleted brand of
+     * the new name left behind are merged into, and a rename that only changes case or accents under a
+     * case-insensitive collation does not count the buckets twice.
+     */
+    public int renameBrand(String from, String to) {
+        jdbcTemplate.update(RENAME_DELTA_BRAND, to, from);
+        var rollups = jdbcTemplate.query(FIND_BRAND, ROLLUP_MAPPER, from);
+        jdbcTemplate.update(DELETE_BRAND, from);
+        rollups.forEach(rollup -> rollup.setBrand(to));
+        addCounts(rollups);
+        return rollups.size();
+    }
+
+    public int deleteOlderThan(RollupGranularity granularity, LocalDateTime cutoff) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN, granularity.name(), Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Deletes the rollups together with the deltas not folded into them yet.
+     */
+    public void deleteAll() {
+        jdbcTemplate.update(DELETE_ALL_DELTAS);
+        jdbcTemplate.update(DELETE_ALL);
+    }
+}
@@ -0,0 +1,15 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.entity.DeviceCreationRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeviceCreationRollupRepository extends JpaRepository<DeviceCreationRollup, Long> {
+    @Query("SELECT r from DeviceCreationRollup r where r.granularity = ?1 and r.bucketStart >= ?2 and r.bucketStart < ?3 "
+            + "and (?4 is null or r.brand = ?4) and r.deviceCount <> 0 order by r.bucketStart, r.brand")
+    List<DeviceCreationRollup> findBuckets(RollupGranularity granularity, LocalDateTime from, LocalDateTime to, String brand);
+}
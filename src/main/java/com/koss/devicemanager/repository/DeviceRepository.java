@@ -4,10 +4,22 @@ import com.koss.devicemanager.entity.Device;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
-public interface DeviceRepository extends JpaRepository<Device, Long> {
+public interface DeviceRepository extends JpaRepository<Device, Long>, DeviceRepositoryCustom {
     @Query("SELECT d from Device d where d.brand.name = ?1")
     List<Device> findByBrandName(String brandName);
+
+    @Query("SELECT count(d) from Device d where d.brand.name = ?1")
+    long countByBrandName(String brandName);
+
+    @Query("SELECT d.id from Device d where d.brand.name = ?1 order by d.id")
+    List<Long> findIdsByBrandName(String brandName);
+
+    @Query("SELECT d from Device d join fetch d.brand where d.id in ?1")
+    List<Device> findWithBrandByIdIn(Collection<Long> ids);
+
+    List<Device> findByExternalIdIn(Collection<String> externalIds);
 }
 
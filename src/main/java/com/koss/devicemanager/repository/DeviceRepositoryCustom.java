@@ -0,0 +1,44 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.entity.Device;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface DeviceRepositoryCustom {
+    /**
+     * Selects only the requested columns, joining brand only when its name is selected or filtered on.
+     * Each tuple element is aliased with the field's JSON name.
+     *
+     * @param brandName optional brand filter, {@code null} for all brands
+     */
+    List<Tuple> findProjected(Set<DeviceField> fields, String brandName, Pageable pageable);
+
+    Optional<Tuple> findProjectedById(Set<DeviceField> fields, Long id);
+
+    /**
+     * Devices matching one of the given (brand, name) pairs exactly, with their brands fetched. Each
+     * brand only matches its own names, so the query walks the (brand_id, name) index per pair
+     * rather than the cross product of all brands and names.
+     */
+    List<Device> findByBrandAndNameIn(Map<String, ? extends Collection<String>> namesByBrand);
+
+    /**
+     * Keyset page of devices in (creationTime, id) order, with their brands fetched. Every filter is
+     * optional; the (creation_time, id) and (brand_id, creation_time, id) indexes serve the range
+     * scan with and without a brand filter.
+     *
+     * @param from      inclusive lower bound on creation time
+     * @param to        exclusive upper bound on creation time
+     * @param afterTime creation time of the last device of the previous page, together with {@code afterId}
+     */
+    List<Device> findByCreationTimeRange(LocalDateTime from, LocalDateTime to, String brandName,
+                                         LocalDateTime afterTime, Long afterId, int limit);
+}
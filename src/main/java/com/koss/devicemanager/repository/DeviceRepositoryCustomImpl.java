@@ -0,0 +1,126 @@
+package com.koss.devicemanager.repository;
+
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public class DeviceRepositoryCustomImpl implements DeviceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Tuple> findProjected(Set<DeviceField> fields, String brandName, Pageable pageable) {
+        var query = entityManager.createQuery(projection(fields, brandName, null));
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Set<DeviceField> fields, Long id) {
+        return entityManager.createQuery(projection(fields, null, id))
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Device> findByBrandAndNameIn(Map<String, ? extends Collection<String>> namesByBrand) {
+        if (namesByBrand.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Device> query = cb.createQuery(Device.class);
+        Root<Device> device = query.from(Device.class);
+        var brand = (Join<Device, Brand>) device.<Device, Brand>fetch("brand");
+
+        var pairs = namesByBrand.entrySet().stream()
+                .map(names -> cb.and(cb.equal(brand.get("name"), names.getKey()), device.get("name").in(names.getValue())))
+                .toArray(Predicate[]::new);
+        return entityManager.createQuery(query.select(device).where(cb.or(pairs)))
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Device> findByCreationTimeRange(LocalDateTime from, LocalDateTime to, String brandName,
+                                                LocalDateTime afterTime, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Device> query = cb.createQuery(Device.class);
+        Root<Device> device = query.from(Device.class);
+        var brand = (Join<Device, Brand>) device.<Device, Brand>fetch("brand");
+        var creationTime = device.<LocalDateTime>get("creationTime");
+
+        List<Predicate> predicates = new ArrayList<>(4);
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(creationTime, from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(creationTime, to));
+        }
+        if (brandName != null) {
+            predicates.add(cb.equal(brand.get("name"), brandName));
+        }
+        if (afterTime != null) {
+            // (creation_time, id) > (afterTime, afterId), with a leading bound the index range scan can seek to
+            predicates.add(cb.greaterThanOrEqualTo(creationTime, afterTime));
+            predicates.add(cb.or(
+                    cb.greaterThan(creationTime, afterTime),
+                    cb.greaterThan(device.get("id"), afterId)));
+        }
+
+        query.select(device)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(creationTime), cb.asc(device.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private CriteriaQuery<Tuple> projection(Set<DeviceField> fields, String brandName, Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Device> device = query.from(Device.class);
+        From<?, ?> brand = fields.contains(DeviceField.BRAND) || brandName != null ? device.join("brand") : null;
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (DeviceField field : fields) {
+            var path = field == DeviceField.BRAND ? brand.get("name") : device.get(field.getPath());
+            selections.add(path.alias(field.getJsonName()));
+        }
+
+        List<Predicate> predicates = new ArrayList<>(2);
+        if (brandName != null) {
+            predicates.add(cb.equal(brand.get("name"), brandName));
+        }
+        if (id != null) {
+            predicates.add(cb.equal(device.get("id"), id));
+        }
+
+        return query.multiselect(selections)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(device.get("id")));
+    }
+}
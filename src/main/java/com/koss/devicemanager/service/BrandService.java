@@ -1,12 +1,16 @@
 package com.koss.devicemanager.service;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.BrandField;
 import com.koss.devicemanager.entity.Brand;
 
 import java.util.List;
+import java.util.Set;
 
 public interface BrandService {
     List<BrandDTO> findAllBrands();
+    List<BrandDTO> findAllBrands(Set<BrandField> fields);
+    List<BrandDTO> findAllBrandsWithDeviceCount();
     BrandDTO addBrand(BrandDTO brandDTO);
     Brand getOrCreateBrand(String name);
     BrandDTO updateBrand(Long id, BrandDTO updatedBrandDTO);
@@ -0,0 +1,14 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.BulkImportJobDTO;
+import com.koss.devicemanager.dto.DeviceDTO;
+
+import java.util.List;
+
+public interface BulkImportJobService {
+    BulkImportJobDTO submit(List<DeviceDTO> devices);
+
+    BulkImportJobDTO getJob(String id);
+
+    BulkImportJobDTO cancelJob(String id);
+}
@@ -0,0 +1,23 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+
+import java.util.List;
+
+/**
+ * Carries cache invalidations between application instances. Every invalidation sent by one
+ * instance has to reach every running instance, the sender included.
+ */
+public interface CacheInvalidationTransport {
+    /**
+     * Called inside the writing transaction when there is one, so that a transport backed by the
+     * database commits the invalidations together with the write.
+     */
+    void send(List<CacheInvalidationDTO> invalidations);
+
+    /**
+     * Returns the invalidations that arrived since the previous call, oldest first. May return
+     * invalidations for every entity of a type when individual ones could have been missed.
+     */
+    List<CacheInvalidationDTO> receive();
+}
@@ -0,0 +1,12 @@
+package com.koss.devicemanager.service;
+
+/**
+ * In-memory record of the device ids and brand names that exist, for answering lookups of ones
+ * that do not without database access. A true result is definite; false means the key may exist
+ * and the database has to be asked, which is also the answer whenever the filter is not loaded.
+ */
+public interface CatalogExistenceFilter {
+    boolean excludesDevice(long id);
+
+    boolean excludesBrand(String name);
+}
@@ -0,0 +1,12 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.ChangeFeedPageDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface ChangeFeedService {
+    long currentSequence();
+
+    ChangeFeedPageDTO getChanges(long since, int limit);
+
+    SseEmitter subscribe(Long since);
+}
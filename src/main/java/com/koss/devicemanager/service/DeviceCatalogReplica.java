@@ -0,0 +1,24 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.DeviceDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-process copy of the device catalog for serving reads without database access. Callers must
+ * check {@link #isReady()} and fall back to the database when it returns false.
+ */
+public interface DeviceCatalogReplica {
+    boolean isReady();
+
+    int size();
+
+    Optional<DeviceDTO> findById(long id);
+
+    List<DeviceDTO> findPage(int offset, int limit);
+
+    List<DeviceDTO> findAll();
+
+    List<DeviceDTO> findByBrand(String brand);
+}
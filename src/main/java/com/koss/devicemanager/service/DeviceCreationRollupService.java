@@ -0,0 +1,26 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.dto.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface DeviceCreationRollupService {
+    /**
+     * Non-empty buckets starting in [{@code from}, {@code to}), ordered by bucket start and brand.
+     * {@code brand} may be null to report every brand.
+     */
+    List<DeviceCreationBucketDTO> getCreationCounts(RollupGranularity granularity, LocalDateTime from,
+                                                    LocalDateTime to, String brand);
+
+    /**
+     * Writes buffered count changes to the rollup table.
+     */
+    void flush();
+
+    /**
+     * Recomputes every rollup from the device table and returns the number of devices counted.
+     */
+    long rebuild();
+}
@@ -1,18 +1,37 @@
 package com.koss.devicemanager.service;
 
+import com.koss.devicemanager.dto.BatchOperationResultDTO;
+import com.koss.devicemanager.dto.BulkUpsertResultDTO;
+import com.koss.devicemanager.dto.CursorPageDTO;
+import com.koss.devicemanager.dto.DeviceBatchDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.dto.DevicePatchDTO;
+import com.koss.devicemanager.util.RowSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 public interface DeviceService {
     DeviceDTO findDeviceById(Long id);
 
+    DeviceDTO findDeviceById(Long id, Set<DeviceField> fields);
+
+    DeviceBatchDTO findDevicesByIds(Collection<Long> ids);
+
     List<DeviceDTO> findDevicesByBrand(String brand);
 
+    List<DeviceDTO> findDevicesByBrand(String brand, Set<DeviceField> fields);
+
     List<DeviceDTO> findAllDevices();
 
+    List<DeviceDTO> findAllDevices(Set<DeviceField> fields);
+
     DeviceDTO addDevice(DeviceDTO deviceDTO);
 
     DeviceDTO updateDevice(Long id, DeviceDTO updatedDeviceDTO);
@@ -23,7 +42,29 @@ public interface DeviceService {
 
     List<DeviceDTO> saveAllDevices(List<DeviceDTO> devices);
 
+    List<DeviceDTO> saveAllDevicesStreaming(RowSource<DeviceDTO> devices) throws IOException;
+
+    List<DeviceDTO> saveAllDevicesInParallel(List<DeviceDTO> devices);
+
+    BulkUpsertResultDTO upsertAllDevices(List<DeviceDTO> devices);
+
+    BatchOperationResultDTO patchDevices(List<DevicePatchDTO> patches);
+
+    BatchOperationResultDTO deleteDevicesByIds(Collection<Long> ids);
+
+    BatchOperationResultDTO deleteDevicesByBrand(String brand);
+
     void deleteAllDevices();
 
     Page<DeviceDTO> getPaginatedDevices(Pageable pageable);
+
+    Page<DeviceDTO> getPaginatedDevices(Pageable pageable, Set<DeviceField> fields);
+
+    /**
+     * Devices created in [{@code from}, {@code to}) in (creationTime, id) order, optionally of one brand.
+     * Any bound may be null. {@code cursor} is the {@code nextCursor} of the previous page, or null for the first;
+     * a page shorter than {@code limit} means no more devices matched at the time of the query.
+     */
+    CursorPageDTO<DeviceDTO> findDevicesByCreationTime(LocalDateTime from, LocalDateTime to, String brand,
+                                                       String cursor, int limit);
 }
@@ -0,0 +1,272 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.CatalogExistenceFilter;
+import com.koss.devicemanager.util.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Bloom filters over the device ids and brand names, loaded once the application is ready and
+ * extended by every catalog write. Deleted keys cannot be taken out of a Bloom filter, so both
+ * filters are rebuilt from the database every {@code rebuild-interval}; until then a deleted key
+ * is merely not excluded. Keys added while a filter is rebuilt are replayed onto the new one.
+ * <p>
+ * Writes by other instances only arrive through cache invalidations, which carry device ids but
+ * not brand names: a device id is added directly, anything else reloads the affected filter. The
+ * filter therefore stays off unless cache invalidation is enabled too. Device ids above the highest
+ * one this instance has seen are never excluded, since they may have just been created elsewhere;
+ * a brand created elsewhere is excluded until the next poll.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class BloomCatalogExistenceFilter implements CatalogExistenceFilter, MeterBinder {
+    // Sized for twice the current keys, so the false positive rate holds until the next rebuild.
+    private static final long MIN_CAPACITY = 1024;
+    // Combining marks left by the decomposition, and format characters such as zero-width joiners
+    private static final Pattern IGNORED_IN_COMPARISON = Pattern.compile("[\\p{M}\\p{Cf}]");
+
+    private final DeviceRepository deviceRepository;
+    private final DeviceBatchRepository deviceBatchRepository;
+    private final BrandRepository brandRepository;
+    @Value("${device-manager.existence-filter.enabled:false}")
+    private final boolean enabled;
+    @Value("${device-manager.existence-filter.false-positive-rate:0.01}")
+    private final double falsePositiveRate;
+    @Value("${device-manager.cache-invalidation.enabled:false}")
+    private final boolean invalidationEnabled;
+
+    private final RebuildableFilter deviceIds = new RebuildableFilter("device ids");
+    private final RebuildableFilter brandNames = new RebuildableFilter("brand names");
+    private final AtomicLong highestDeviceId = new AtomicLong();
+    private final LongAdder excludedDevices = new LongAdder();
+    private final LongAdder excludedBrands = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        if (!invalidationEnabled) {
+            log.warn("The existence filter needs device-manager.cache-invalidation.enabled=true to learn of devices "
+                    + "and brands created by other instances, leaving it off");
+            return;
+        }
+        deviceIds.reload(this::loadDeviceIds);
+        brandNames.reload(this::loadBrandNames);
+    }
+
+    @Scheduled(fixedDelayString = "${device-manager.existence-filter.rebuild-interval:PT10M}",
+            initialDelayString = "${device-manager.existence-filter.rebuild-interval:PT10M}")
+    public void rebuild() {
+        load();
+    }
+
+    /**
+     * Keys are added before the commit, so that no reader sees a committed device the filter
+     * excludes, and again after it, so that a rebuild whose scan started in between keeps them.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCatalogChangeCommitting(CatalogChangeEvent event) {
+        onCatalogChange(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (CatalogChangeDTO change : event.getChanges()) {
+            if (change.getChangeType() != ChangeType.CREATED && change.getChangeType() != ChangeType.UPDATED) {
+                continue;
+            }
+            if (change.getEntityType() == ChangeEntityType.BRAND) {
+                var name = normalize(change.getName());
+                brandNames.add(filter -> filter.put(name));
+            } else {
+                addDeviceId(change.getId());
+                if (change.getBrand() != null) {
+                    var brand = normalize(change.getBrand());
+                    brandNames.add(filter -> filter.put(brand));
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onCatalogInvalidation(CatalogInvalidationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        boolean reloadDevices = false;
+        boolean reloadBrands = false;
+        for (CacheInvalidationDTO invalidation : event.getInvalidations()) {
+            if (invalidation.getEntityType() == ChangeEntityType.BRAND) {
+                reloadBrands = true;
+            } else if (invalidation.isAll()) {
+                reloadDevices = true;
+            } else {
+                addDeviceId(invalidation.getEntityId());
+            }
+        }
+        if (reloadDevices) {
+            deviceIds.reload(this::loadDeviceIds);
+        }
+        if (reloadBrands) {
+            brandNames.reload(this::loadBrandNames);
+        }
+    }
+
+    @Override
+    public boolean excludesDevice(long id) {
+        var filter = deviceIds.filter;
+        if (filter == null || id > highestDeviceId.get() || filter.mightContain(id)) {
+            return false;
+        }
+        excludedDevices.increment();
+        return true;
+    }
+
+    @Override
+    public boolean excludesBrand(String name) {
+        var filter = brandNames.filter;
+        if (filter == null || filter.mightContain(normalize(name))) {
+            return false;
+        }
+        excludedBrands.increment();
+        return true;
+    }
+
+    private void addDeviceId(long id) {
+        highestDeviceId.accumulateAndGet(id, Math::max);
+        deviceIds.add(filter -> filter.put(id));
+    }
+
+    private BloomFilter loadDeviceIds() {
+        var filter = new BloomFilter(capacity(deviceRepository.count()), falsePositiveRate);
+        deviceBatchRepository.scanIds(id -> {
+            filter.put(id);
+            highestDeviceId.accumulateAndGet(id, Math::max);
+        });
+        return filter;
+    }
+
+    private BloomFilter loadBrandNames() {
+        var names = brandRepository.findAllNames();
+        var filter = new BloomFilter(capacity(names.size()), falsePositiveRate);
+        names.forEach(name -> filter.put(normalize(name)));
+        return filter;
+    }
+
+    private static long capacity(long keys) {
+        return Math.max(keys * 2, MIN_CAPACITY);
+    }
+
+    /**
+     * Brand names may compare case- and accent-insensitively and without trailing spaces in the
+     * database, as under MySQL's utf8mb4_0900_ai_ci, so they are added and tested with accents,
+     * ignorable characters and trailing spaces stripped and case folded. Folding more names together
+     * than the collation does only costs false positives.
+     */
+    private static String normalize(String name) {
+        var decomposed = Normalizer.normalize(name.stripTrailing(), Normalizer.Form.NFKD);
+        return IGNORED_IN_COMPARISON.matcher(decomposed).replaceAll("")
+                .toUpperCase(Locale.ROOT)
+                .toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("device_manager.existence_filter.exclusions", excludedDevices, LongAdder::sum)
+                .description("Lookups answered as not found by the existence filter, without a query")
+                .tag("key", "device")
+                .register(registry);
+        FunctionCounter.builder("device_manager.existence_filter.exclusions", excludedBrands, LongAdder::sum)
+                .description("Lookups answered as not found by the existence filter, without a query")
+                .tag("key", "brand")
+                .register(registry);
+    }
+
+    /**
+     * A filter that is replaced wholesale on reload. Until the first load succeeds it excludes nothing.
+     */
+    private static final class RebuildableFilter {
+        private final String name;
+        private final Object reloadLock = new Object();
+        private volatile BloomFilter filter;
+        // Keys added while a reload runs, guarded by this
+        private List<Consumer<BloomFilter>> pending;
+
+        private RebuildableFilter(String name) {
+            this.name = name;
+        }
+
+        synchronized void add(Consumer<BloomFilter> put) {
+            if (filter != null) {
+                put.accept(filter);
+            }
+            if (pending != null) {
+                pending.add(put);
+            }
+        }
+
+        void reload(Supplier<BloomFilter> loader) {
+            synchronized (reloadLock) {
+                long start = System.nanoTime();
+                synchronized (this) {
+                    pending = new ArrayList<>();
+                }
+                BloomFilter loaded;
+                try {
+                    loaded = loader.get();
+                } catch (RuntimeException ex) {
+                    log.error("Loading the {} existence filter failed, keeping the previous one: {}", name, ex.getMessage(), ex);
+                    synchronized (this) {
+                        pending = null;
+                    }
+                    return;
+                }
+                synchronized (this) {
+                    pending.forEach(put -> put.accept(loaded));
+                    pending = null;
+                    filter = loaded;
+                }
+                log.info("Loaded the {} existence filter into ~{} KB in {} ms",
+                        name, loaded.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+            }
+        }
+    }
+}
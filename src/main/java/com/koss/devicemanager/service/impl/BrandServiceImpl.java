@@ -1,17 +1,23 @@
 package com.koss.devicemanager.service.impl;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.BrandField;
+import com.koss.devicemanager.dto.ChangeType;
 import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.event.CatalogChangeEvent;
 import com.koss.devicemanager.exception.BrandNotFoundException;
 import com.koss.devicemanager.mapper.BrandMapper;
 import com.koss.devicemanager.repository.BrandRepository;
 import com.koss.devicemanager.service.BrandService;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -20,13 +26,14 @@ public class BrandServiceImpl implements BrandService {
 
     private final BrandRepository brandRepository;
     private final BrandMapper brandMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public BrandDTO findById(Long id) {
         log.info("Attempting to find brand by ID: {}", id);
         var brand = brandRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Brand not found with ID: {}", id);
+                    log.debug("Brand not found with ID: {}", id);
                     return new BrandNotFoundException(id);
                 });
         log.info("Brand found: {}", brand);
@@ -44,15 +51,43 @@ public class BrandServiceImpl implements BrandService {
     }
 
     @Override
+    public List<BrandDTO> findAllBrands(Set<BrandField> fields) {
+        log.info("Retrieving all brands with fields: {}", fields);
+        var brands = brandRepository.findProjected(fields).stream()
+                .map(tuple -> brandMapper.toProjectedDTO(tuple, fields))
+                .toList();
+        log.info("Number of brands retrieved: {}", brands.size());
+        return brands;
+    }
+
+    @Override
+    public List<BrandDTO> findAllBrandsWithDeviceCount() {
+        log.info("Retrieving all brands with device counts.");
+        var brands = brandRepository.findAllWithDeviceCount().stream()
+                .map(brandMapper::toCountedDTO)
+                .toList();
+        log.info("Number of brands retrieved with device counts: {}", brands.size());
+        return brands;
+    }
+
+    @Override
+    @Transactional
     public BrandDTO addBrand(BrandDTO brandDTO) {
         log.info("Adding new brand: {}", brandDTO);
-        var brand = brandMapper.toEntity(brandDTO);
-        var savedBrand = brandMapper.toDTO(brandRepository.save(brand));
+        var brand = brandRepository.save(brandMapper.toEntity(brandDTO));
+        publish(ChangeType.CREATED, brand, null);
+        var savedBrand = brandMapper.toDTO(brand);
         log.info("Brand added: {}", savedBrand);
         return savedBrand;
     }
 
+    /**
+     * Existing brands cost a single lookup. A new brand is created with an insert-if-absent upsert
+     * that returns the generated id, so concurrent callers creating the same brand never trip the
+     * unique constraint on the name. Only the caller that loses such a race reads the brand back.
+     */
     @Override
+    @Transactional
     public Brand getOrCreateBrand(String name) {
         log.info("Getting or creating brand with name: {}", name);
         var existingBrand = brandRepository.findByName(name);
@@ -62,36 +97,57 @@ public class BrandServiceImpl implements BrandService {
             return existingBrand.get();
         }
 
-        var newBrand = new Brand();
-        newBrand.setName(name);
-        var savedBrand = brandRepository.save(newBrand);
-        log.info("New brand created: {}", savedBrand);
-        return savedBrand;
+        var result = brandRepository.insertIfAbsent(name);
+        if (result.inserted()) {
+            var brand = new Brand(result.id(), name);
+            publish(ChangeType.CREATED, brand, null);
+            log.info("Brand created by upsert: {}", brand);
+            return brand;
+        }
+        if (result.id() != null) {
+            var brand = new Brand(result.id(), name);
+            log.info("Brand created concurrently: {}", brand);
+            return brand;
+        }
+        var brand = brandRepository.findByNameForShare(name)
+                .orElseThrow(() -> new IllegalStateException("Brand " + name + " missing after upsert"));
+        log.info("Brand created concurrently: {}", brand);
+        return brand;
     }
 
     @Override
+    @Transactional
     public BrandDTO updateBrand(Long id, BrandDTO updatedBrandDTO) {
         log.info("Updating brand with ID: {}", id);
         var existingBrand = brandRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Brand not found with ID: {}", id);
+                    log.debug("Brand not found with ID: {}", id);
                     return new BrandNotFoundException(id);
                 });
+        var previousName = existingBrand.getName();
         existingBrand.setName(updatedBrandDTO.getName());
-        var updatedBrand = brandMapper.toDTO(brandRepository.save(existingBrand));
+        var savedBrand = brandRepository.save(existingBrand);
+        publish(ChangeType.UPDATED, savedBrand, previousName);
+        var updatedBrand = brandMapper.toDTO(savedBrand);
         log.info("Brand updated: {}", updatedBrand);
         return updatedBrand;
     }
 
     @Override
+    @Transactional
     public void deleteBrand(Long id) {
         log.info("Attempting to delete brand with ID: {}", id);
         var brand = brandRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Brand not found with ID: {}", id);
+                    log.debug("Brand not found with ID: {}", id);
                     return new BrandNotFoundException(id);
                 });
         brandRepository.delete(brand);
+        publish(ChangeType.DELETED, brand, null);
         log.info("Brand deleted with ID: {}", id);
     }
+
+    private void publish(ChangeType type, Brand brand, String previousName) {
+        eventPublisher.publishEvent(new CatalogChangeEvent(List.of(CatalogChangeEvent.brandChange(type, brand, previousName))));
+    }
 }
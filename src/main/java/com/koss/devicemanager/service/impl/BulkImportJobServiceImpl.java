@@ -0,0 +1,202 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.BulkImportJobDTO;
+import com.koss.devicemanager.dto.BulkImportJobStatus;
+import com.koss.devicemanager.dto.BulkImportRowErrorDTO;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.exception.BulkImportJobNotFoundException;
+import com.koss.devicemanager.exception.TooManyBulkImportJobsException;
+import com.koss.devicemanager.service.BulkImportJobService;
+import com.koss.devicemanager.service.DeviceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class BulkImportJobServiceImpl implements BulkImportJobService {
+    private final DeviceService deviceService;
+    @Qualifier("bulkImportExecutor")
+    private final Executor bulkImportExecutor;
+    @Value("${device-manager.bulk-import.max-concurrent-jobs:2}")
+    private final int maxConcurrentJobs;
+    @Value("${device-manager.bulk-import.chunk-size:500}")
+    private final int chunkSize;
+    @Value("${device-manager.bulk-import.max-row-errors:1000}")
+    private final int maxRowErrors;
+    @Value("${device-manager.bulk-import.retention-minutes:60}")
+    private final long retentionMinutes;
+
+    private final Map<String, BulkImportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger activeJobs = new AtomicInteger();
+
+    @Override
+    public BulkImportJobDTO submit(List<DeviceDTO> devices) {
+        evictExpiredJobs();
+        if (activeJobs.incrementAndGet() > maxConcurrentJobs) {
+            activeJobs.decrementAndGet();
+            log.warn("Rejecting bulk import of {} devices, {} jobs already active", devices.size(), maxConcurrentJobs);
+            throw new TooManyBulkImportJobsException(maxConcurrentJobs);
+        }
+
+        var job = new BulkImportJob(UUID.randomUUID().toString(), List.copyOf(devices));
+        jobs.put(job.id, job);
+        log.info("Submitting bulk import job {} with {} devices", job.id, devices.size());
+        try {
+            bulkImportExecutor.execute(() -> run(job));
+        } catch (RuntimeException ex) {
+            jobs.remove(job.id);
+            activeJobs.decrementAndGet();
+            throw ex;
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public BulkImportJobDTO getJob(String id) {
+        return findJob(id).toDTO();
+    }
+
+    @Override
+    public BulkImportJobDTO cancelJob(String id) {
+        var job = findJob(id);
+        if (!job.status.isFinished()) {
+            log.info("Cancellation requested for bulk import job {}", id);
+            job.cancelRequested = true;
+        }
+        return job.toDTO();
+    }
+
+    private BulkImportJob findJob(String id) {
+        var job = jobs.get(id);
+        if (job == null) {
+            log.debug("Bulk import job not found with ID: {}", id);
+            throw new BulkImportJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    private void run(BulkImportJob job) {
+        try {
+            job.startedAt = LocalDateTime.now();
+            job.status = BulkImportJobStatus.RUNNING;
+            log.info("Bulk import job {} started", job.id);
+
+            for (int from = 0; from < job.rows.size(); from += chunkSize) {
+                if (job.cancelRequested) {
+                    break;
+                }
+                var chunk = job.rows.subList(from, Math.min(from + chunkSize, job.rows.size()));
+                importChunk(job, from, chunk);
+            }
+
+            job.status = job.cancelRequested ? BulkImportJobStatus.CANCELLED
+                    : job.failedRows.get() > 0 ? BulkImportJobStatus.COMPLETED_WITH_ERRORS
+                    : BulkImportJobStatus.COMPLETED;
+            log.info("Bulk import job {} finished with status {}: {} processed, {} failed",
+                    job.id, job.status, job.processedRows.get(), job.failedRows.get());
+        } catch (RuntimeException ex) {
+            job.status = BulkImportJobStatus.FAILED;
+            log.error("Bulk import job {} failed: {}", job.id, ex.getMessage(), ex);
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+            activeJobs.decrementAndGet();
+        }
+    }
+
+    /**
+     * Saves a chunk in its own transaction. When the chunk fails, its rows are retried one by one
+     * so that a single bad row only costs itself instead of the whole chunk.
+     */
+    private void importChunk(BulkImportJob job, int offset, List<DeviceDTO> chunk) {
+        try {
+            deviceService.saveAllDevices(chunk);
+            job.processedRows.addAndGet(chunk.size());
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Chunk at row {} of bulk import job {} failed, retrying rows individually: {}",
+                    offset, job.id, chunkFailure.getMessage());
+            for (int i = 0; i < chunk.size(); i++) {
+                try {
+                    deviceService.addDevice(chunk.get(i));
+                } catch (RuntimeException rowFailure) {
+                    job.recordError(offset + i, rowFailure.getMessage(), maxRowErrors);
+                }
+                job.processedRows.incrementAndGet();
+            }
+        }
+    }
+
+    private void evictExpiredJobs() {
+        var cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class BulkImportJob {
+        private final String id;
+        private final List<DeviceDTO> rows;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final AtomicInteger processedRows = new AtomicInteger();
+        private final AtomicInteger failedRows = new AtomicInteger();
+        private final List<BulkImportRowErrorDTO> errors = new ArrayList<>();
+        private volatile BulkImportJobStatus status = BulkImportJobStatus.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private BulkImportJob(String id, List<DeviceDTO> rows) {
+            this.id = id;
+            this.rows = rows;
+        }
+
+        private void recordError(int rowIndex, String message, int maxRowErrors) {
+            failedRows.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < maxRowErrors) {
+                    errors.add(new BulkImportRowErrorDTO(rowIndex, message));
+                }
+            }
+        }
+
+        private BulkImportJobDTO toDTO() {
+            var dto = new BulkImportJobDTO();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setTotalRows(rows.size());
+            dto.setProcessedRows(processedRows.get());
+            dto.setFailedRows(failedRows.get());
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            synchronized (errors) {
+                dto.setErrors(List.copyOf(errors));
+            }
+
+            if (startedAt != null) {
+                var end = finishedAt != null ? finishedAt : LocalDateTime.now();
+                double elapsedSeconds = Duration.between(startedAt, end).toMillis() / 1000.0;
+                if (elapsedSeconds > 0) {
+                    dto.setRowsPerSecond(dto.getProcessedRows() / elapsedSeconds);
+                }
+                if (!status.isFinished() && dto.getRowsPerSecond() > 0) {
+                    int remaining = dto.getTotalRows() - dto.getProcessedRows();
+                    dto.setEtaSeconds((long) Math.ceil(remaining / dto.getRowsPerSecond()));
+                }
+            }
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
+import com.koss.devicemanager.service.CacheInvalidationTransport;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps local caches coherent across application instances. Local catalog writes are sent
+ * through the {@link CacheInvalidationTransport}, and invalidations received from other instances
+ * are published as a {@link CatalogInvalidationEvent} every {@code poll-interval}, which bounds how
+ * long another instance can serve an entry after the write that changed it committed.
+ */
+@Service
+@ConditionalOnProperty(name = "device-manager.cache-invalidation.enabled", havingValue = "true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class CacheInvalidationRelay {
+    private final CacheInvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    @Value("${device-manager.cache-invalidation.max-entities-per-write:100}")
+    private final int maxEntitiesPerWrite;
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * Runs before the commit, so invalidations sent through the database commit or roll back with
+     * the write. Writes touching more than {@code maxEntitiesPerWrite} entities of a type send a
+     * single invalidation for the whole type.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        Map<ChangeEntityType, Set<Long>> ids = new EnumMap<>(ChangeEntityType.class);
+        Set<ChangeEntityType> all = new LinkedHashSet<>();
+        for (CatalogChangeDTO change : event.getChanges()) {
+            if (change.getId() == null) {
+                all.add(change.getEntityType());
+            } else {
+                ids.computeIfAbsent(change.getEntityType(), type -> new LinkedHashSet<>()).add(change.getId());
+            }
+        }
+
+        List<CacheInvalidationDTO> invalidations = new ArrayList<>();
+        for (ChangeEntityType type : ChangeEntityType.values()) {
+            var typeIds = ids.getOrDefault(type, Set.of());
+            if (all.contains(type) || typeIds.size() > maxEntitiesPerWrite) {
+                invalidations.add(new CacheInvalidationDTO(type, null, nodeId));
+            } else {
+                typeIds.forEach(id -> invalidations.add(new CacheInvalidationDTO(type, id, nodeId)));
+            }
+        }
+        if (!invalidations.isEmpty()) {
+            transport.send(invalidations);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${device-manager.cache-invalidation.poll-interval:PT1S}")
+    public void poll() {
+        List<CacheInvalidationDTO> received;
+        try {
+            received = transport.receive();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to receive cache invalidations: {}", ex.getMessage());
+            return;
+        }
+        var remote = received.stream()
+                .filter(invalidation -> !nodeId.equals(invalidation.getOriginNode()))
+                .toList();
+        if (!remote.isEmpty()) {
+            log.debug("Applying {} cache invalidations from other instances", remote.size());
+            eventPublisher.publishEvent(new CatalogInvalidationEvent(remote));
+        }
+    }
+}
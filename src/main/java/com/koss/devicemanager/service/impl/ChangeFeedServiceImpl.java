@@ -0,0 +1,365 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeFeedPageDTO;
+import com.koss.devicemanager.entity.ChangeLogEntry;
+import com.koss.devicemanager.entity.ChangeLogSequence;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogChangeFeedEvent;
+import com.koss.devicemanager.mapper.ChangeLogMapper;
+import com.koss.devicemanager.repository.ChangeLogRepository;
+import com.koss.devicemanager.repository.ChangeLogSequenceRepository;
+import com.koss.devicemanager.service.ChangeFeedService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Assigns sequence numbers to catalog changes and writes them to the change log in the publishing
+ * transaction, so a change commits together with its log entry or not at all. Committed changes
+ * are kept in a ring buffer as well; readers are served from it when it still holds the requested
+ * position and fall back to the change log otherwise.
+ * <p>
+ * Sequences come from the {@link ChangeLogSequence} row, locked from allocation until commit, so
+ * every instance draws from the same counter, sequences commit in order and a rollback leaves no
+ * gap. Changes committed by other instances are read back from the change log every
+ * {@code poll-interval}; a local change is only published once every lower sequence has been.
+ * Every published batch is also announced as a {@link CatalogChangeFeedEvent}.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class ChangeFeedServiceImpl implements ChangeFeedService {
+    private static final int REPLAY_BATCH_SIZE = 500;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogSequenceRepository sequenceRepository;
+    private final ChangeLogMapper changeLogMapper;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    @Qualifier("changeFeedExecutor")
+    private final Executor changeFeedExecutor;
+    @Value("${device-manager.change-feed.buffer-size:10000}")
+    private final int bufferSize;
+    @Value("${device-manager.change-feed.retention-days:7}")
+    private final int retentionDays;
+    @Value("${device-manager.change-feed.emitter-timeout-minutes:30}")
+    private final long emitterTimeoutMinutes;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    private TransactionTemplate logTransaction;
+    private CatalogChangeDTO[] ring;
+    private long firstBufferedSequence;
+    // Highest sequence published to readers; every sequence up to it has committed
+    private long lastSequence;
+    // Committed changes waiting for a lower sequence to be published, by first sequence
+    private final Map<Long, List<CatalogChangeDTO>> committedOutOfOrder = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        logTransaction = new TransactionTemplate(transactionManager);
+        logTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ring = new CatalogChangeDTO[bufferSize];
+        lastSequence = loadSequence();
+        firstBufferedSequence = lastSequence + 1;
+        log.info("Change feed starting at sequence {}", lastSequence);
+    }
+
+    /**
+     * Creates the sequence row on the first start, continuing after the change log, and returns the
+     * last sequence committed so far.
+     */
+    private long loadSequence() {
+        try {
+            return logTransaction.execute(status -> sequenceRepository.findById(ChangeLogSequence.ID)
+                    .orElseGet(() -> sequenceRepository.save(new ChangeLogSequence(ChangeLogSequence.ID,
+                            changeLogRepository.findMaxSequence().orElse(0L)))))
+                    .getLastSequence();
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance created the row first
+            return sequenceRepository.findById(ChangeLogSequence.ID).orElseThrow().getLastSequence();
+        }
+    }
+
+    /**
+     * Runs right before the publishing transaction commits and writes the log entries in it, so a
+     * failing log write rolls the catalog write back instead of losing the change. Publication
+     * waits for the commit.
+     * <p>
+     * Changes published outside a transaction have already committed. Their log entries are
+     * written in a transaction of their own; catalog writes are transactional, so this is a fallback.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        var changes = event.getChanges();
+        if (changes.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            long first;
+            try {
+                first = logTransaction.execute(status -> appendToLog(changes));
+            } catch (RuntimeException ex) {
+                log.error("Failed to write {} committed changes to the change log, they are missing from the feed: {}",
+                        changes.size(), ex.getMessage(), ex);
+                return;
+            }
+            publish(first, changes);
+            return;
+        }
+
+        long first = appendToLog(changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    publish(first, changes);
+                }
+            }
+        });
+    }
+
+    /**
+     * Allocates the next sequences from the sequence row, whose lock is held until the surrounding
+     * transaction ends, and writes the log entries.
+     */
+    private long appendToLog(List<CatalogChangeDTO> changes) {
+        var sequence = sequenceRepository.findForUpdate()
+                .orElseThrow(() -> new IllegalStateException("The change log sequence row is missing"));
+        long first = sequence.getLastSequence() + 1;
+        long next = first;
+        for (CatalogChangeDTO change : changes) {
+            change.setSequence(next++);
+        }
+        sequence.setLastSequence(next - 1);
+        changeLogRepository.saveAll(changes.stream().map(changeLogMapper::toEntity).toList());
+        return first;
+    }
+
+    /**
+     * Publishes committed changes and any later ones that were only waiting for them, in sequence
+     * order. Changes that were already read back from the change log are skipped. Dispatch is
+     * serialized on the single feed thread, keeping delivery order.
+     */
+    private void publish(long first, List<CatalogChangeDTO> changes) {
+        synchronized (lock) {
+            if (first <= lastSequence) {
+                return;
+            }
+            committedOutOfOrder.put(first, changes);
+            List<CatalogChangeDTO> next;
+            while ((next = committedOutOfOrder.remove(lastSequence + 1)) != null) {
+                for (CatalogChangeDTO change : next) {
+                    ring[(int) (change.getSequence() % bufferSize)] = change;
+                }
+                lastSequence += next.size();
+                announce(next);
+                var published = next;
+                changeFeedExecutor.execute(() -> dispatch(published));
+            }
+        }
+    }
+
+    private void announce(List<CatalogChangeDTO> changes) {
+        try {
+            eventPublisher.publishEvent(new CatalogChangeFeedEvent(changes));
+        } catch (RuntimeException ex) {
+            log.error("A change feed listener failed on changes from sequence {}: {}",
+                    changes.get(0).getSequence(), ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Reads the changes committed after the last published sequence, which includes those of other
+     * instances, and publishes them.
+     */
+    @Scheduled(fixedDelayString = "${device-manager.change-feed.poll-interval:PT1S}")
+    void catchUp() {
+        List<ChangeLogEntry> entries;
+        do {
+            entries = changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(currentSequence(),
+                    PageRequest.of(0, REPLAY_BATCH_SIZE));
+            entries.forEach(entry -> publish(entry.getSequence(), List.of(changeLogMapper.toDTO(entry))));
+        } while (entries.size() == REPLAY_BATCH_SIZE);
+    }
+
+    @Override
+    public long currentSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    @Override
+    public ChangeFeedPageDTO getChanges(long since, int limit) {
+        if (since > currentSequence()) {
+            // The position may come from another instance whose latest changes were not read yet
+            catchUp();
+        }
+        long last;
+        synchronized (lock) {
+            last = lastSequence;
+            if (since >= last) {
+                return new ChangeFeedPageDTO(List.of(), last, since > last);
+            }
+            long oldestBuffered = Math.max(firstBufferedSequence, last - bufferSize + 1);
+            if (since + 1 >= oldestBuffered) {
+                long until = Math.min(last, since + limit);
+                List<CatalogChangeDTO> changes = new ArrayList<>((int) (until - since));
+                for (long sequence = since + 1; sequence <= until; sequence++) {
+                    var change = ring[(int) (sequence % bufferSize)];
+                    if (change != null) {
+                        changes.add(change);
+                    }
+                }
+                return new ChangeFeedPageDTO(changes, last, false);
+            }
+        }
+
+        log.info("Change feed position {} is no longer buffered, reading from the change log", since);
+        var changes = changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(since, PageRequest.of(0, limit))
+                .stream()
+                .map(changeLogMapper::toDTO)
+                .toList();
+        // Sequences have no gaps, so a missing successor of the requested position has been pruned
+        boolean pruned = changes.isEmpty() || changes.get(0).getSequence() > since + 1;
+        return new ChangeFeedPageDTO(pruned ? List.of() : changes, last, pruned);
+    }
+
+    /**
+     * Replays everything after {@code since} on the feed thread and then switches the subscriber
+     * to live delivery, so the request thread returns at once and the backlog is sent page by page
+     * instead of being buffered up front. The switch happens under the append lock once a replay
+     * round comes back empty, so no change can fall between the replay and the first live dispatch.
+     */
+    @Override
+    public SseEmitter subscribe(Long since) {
+        var emitter = new SseEmitter(emitterTimeoutMinutes * 60_000);
+        var subscriber = new Subscriber(emitter, since != null ? since : currentSequence());
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+        log.info("Change feed subscriber registered from sequence {}, subscribers: {}", subscriber.lastSent, subscribers.size());
+        changeFeedExecutor.execute(() -> replay(subscriber));
+        return emitter;
+    }
+
+    private void replay(Subscriber subscriber) {
+        while (subscriber.isOpen()) {
+            var page = getChanges(subscriber.lastSent, REPLAY_BATCH_SIZE);
+            if (page.isResyncRequired()) {
+                subscriber.sendResync(page.getLastSequence());
+            } else if (!page.getChanges().isEmpty()) {
+                page.getChanges().forEach(subscriber::send);
+            } else {
+                synchronized (lock) {
+                    if (lastSequence <= subscriber.lastSent) {
+                        subscriber.live = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private void dispatch(List<CatalogChangeDTO> changes) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.live) {
+                changes.forEach(subscriber::send);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${device-manager.change-feed.heartbeat-interval:PT15S}")
+    void sendHeartbeats() {
+        subscribers.forEach(Subscriber::sendHeartbeat);
+    }
+
+    @Scheduled(cron = "${device-manager.change-feed.prune-cron:0 0 * * * *}")
+    void pruneChangeLog() {
+        var cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int pruned = logTransaction.execute(status -> changeLogRepository.deleteOlderThan(cutoff, currentSequence()));
+        log.info("Pruned {} change log entries older than {}", pruned, cutoff);
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private volatile long lastSent;
+        private volatile boolean live;
+        private volatile boolean open = true;
+
+        private Subscriber(SseEmitter emitter, long lastSent) {
+            this.emitter = emitter;
+            this.lastSent = lastSent;
+        }
+
+        private boolean isOpen() {
+            return open;
+        }
+
+        private void close() {
+            open = false;
+            subscribers.remove(this);
+        }
+
+        private synchronized void send(CatalogChangeDTO change) {
+            if (!open || change.getSequence() <= lastSent) {
+                return;
+            }
+            if (emit(SseEmitter.event().id(String.valueOf(change.getSequence())).name("change").data(change))) {
+                lastSent = change.getSequence();
+            }
+        }
+
+        private synchronized void sendResync(long sequence) {
+            if (emit(SseEmitter.event().id(String.valueOf(sequence)).name("resync").data(sequence))) {
+                lastSent = sequence;
+            }
+        }
+
+        private synchronized void sendHeartbeat() {
+            if (live) {
+                emit(SseEmitter.event().comment("heartbeat"));
+            }
+        }
+
+        private boolean emit(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException ex) {
+                log.info("Change feed subscriber disconnected: {}", ex.getMessage());
+                close();
+                emitter.completeWithError(ex);
+                return false;
+            }
+        }
+    }
+}
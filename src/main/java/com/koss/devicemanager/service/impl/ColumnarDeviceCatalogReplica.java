@@ -0,0 +1,188 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.event.CatalogChangeFeedEvent;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.service.ChangeFeedService;
+import com.koss.devicemanager.service.DeviceCatalogReplica;
+import com.koss.devicemanager.util.ColumnarDeviceStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar replica of the device table, loaded once the application is ready and kept current
+ * by applying the change feed. The feed delivers committed changes in commit order, so a change
+ * that committed later is never overwritten by an earlier one; writes of other instances arrive
+ * once the feed reads them back from the change log.
+ * <p>
+ * Changes published after the feed position read at the start of the initial load are queued and
+ * applied on top of the loaded snapshot, and earlier ones are already part of it. Applying a
+ * change is idempotent, so a change that the snapshot already contains converges to the same state.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class ColumnarDeviceCatalogReplica implements DeviceCatalogReplica {
+    private final DeviceBatchRepository deviceBatchRepository;
+    private final ChangeFeedService changeFeedService;
+    @Value("${device-manager.catalog-replica.enabled:false}")
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ColumnarDeviceStore store = new ColumnarDeviceStore();
+    private List<List<CatalogChangeDTO>> pendingChanges;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        log.info("Loading columnar device catalog replica");
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // Every change up to this position has committed before the scan starts
+        long loadedSequence = changeFeedService.currentSequence();
+
+        var snapshot = new ColumnarDeviceStore();
+        try {
+            deviceBatchRepository.scanAll(rs -> {
+                Timestamp creationTime = rs.getTimestamp("creation_time");
+                snapshot.upsert(rs.getLong("id"), rs.getString("name"), rs.getString("brand"),
+                        creationTime == null ? null : creationTime.toLocalDateTime(), rs.getString("external_id"));
+            });
+        } catch (RuntimeException ex) {
+            log.error("Loading the device catalog replica failed, reads stay on the database: {}", ex.getMessage(), ex);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int applied = 0;
+            for (List<CatalogChangeDTO> changes : pendingChanges) {
+                if (changes.get(0).getSequence() > loadedSequence) {
+                    apply(snapshot, changes);
+                    applied++;
+                }
+            }
+            log.info("Applied {} change batches committed during the load", applied);
+            pendingChanges = null;
+            store = snapshot;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Device catalog replica loaded {} devices into ~{} KB in {} ms",
+                snapshot.size(), snapshot.memoryBytes() / 1024, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @EventListener
+    public void onCatalogChange(CatalogChangeFeedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(store, event.getChanges());
+            } else if (pendingChanges != null) {
+                pendingChanges.add(event.getChanges());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(ColumnarDeviceStore target, List<CatalogChangeDTO> changes) {
+        for (CatalogChangeDTO change : changes) {
+            if (change.getEntityType() == ChangeEntityType.BRAND) {
+                if (change.getChangeType() == ChangeType.UPDATED && change.getPreviousBrand() != null) {
+                    target.renameBrand(change.getPreviousBrand(), change.getName());
+                }
+                continue;
+            }
+            switch (change.getChangeType()) {
+                case CREATED, UPDATED -> target.upsert(change.getId(), change.getName(), change.getBrand(),
+                        change.getCreationTime(), change.getExternalId());
+                case DELETED -> target.remove(change.getId());
+                case CLEARED -> target.clear();
+            }
+        }
+        target.compact();
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<DeviceDTO> findById(long id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(store.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DeviceDTO> findPage(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return store.list(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<DeviceDTO> findAll() {
+        return findPage(0, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<DeviceDTO> findByBrand(String brand) {
+        lock.readLock().lock();
+        try {
+            return store.findByBrand(brand);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.entity.CacheInvalidationEntry;
+import com.koss.devicemanager.mapper.CacheInvalidationMapper;
+import com.koss.devicemanager.repository.CacheInvalidationRepository;
+import com.koss.devicemanager.service.CacheInvalidationTransport;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Sends invalidations as rows of the {@code cache_invalidation} table, inserted in the writing
+ * transaction, and receives them by reading the rows past the last id seen.
+ * <p>
+ * Ids are assigned at insert but become visible at commit, so a transaction that commits after one
+ * with a higher id leaves a gap behind the last id seen. Missing ids are re-read on every receive
+ * until they show up or {@code gapTimeout} has passed, which has to exceed the longest catalog
+ * write transaction. Gaps that are never filled, e.g. by rolled back inserts, simply expire. When
+ * an instance has not received for longer than {@code retention}, rows it has not seen may have
+ * been pruned, and it invalidates everything.
+ */
+@Component
+@ConditionalOnExpression("${device-manager.cache-invalidation.enabled:false} "
+        + "and '${device-manager.cache-invalidation.transport:database}' == 'database'")
+@Slf4j
+public class DatabaseCacheInvalidationTransport implements CacheInvalidationTransport {
+    private static final int MAX_TRACKED_GAPS = 1000;
+
+    private final CacheInvalidationRepository invalidationRepository;
+    private final CacheInvalidationMapper invalidationMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+    private final LongSupplier nanoClock;
+
+    private final Object lock = new Object();
+    /**
+     * Ids below {@link #lastSeenId} not seen yet, with the time they were first found missing.
+     */
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long lastSeenId;
+    private long lastReceivedAt;
+
+    @Autowired
+    public DatabaseCacheInvalidationTransport(CacheInvalidationRepository invalidationRepository,
+                                              CacheInvalidationMapper invalidationMapper,
+                                              PlatformTransactionManager transactionManager,
+                                              @Value("${device-manager.cache-invalidation.batch-size:1000}") int batchSize,
+                                              @Value("${device-manager.cache-invalidation.gap-timeout:PT1M}") Duration gapTimeout,
+                                              @Value("${device-manager.cache-invalidation.retention:PT1H}") Duration retention) {
+        this(invalidationRepository, invalidationMapper, transactionManager, batchSize, gapTimeout, retention, System::nanoTime);
+    }
+
+    public DatabaseCacheInvalidationTransport(CacheInvalidationRepository invalidationRepository,
+                                              CacheInvalidationMapper invalidationMapper,
+                                              PlatformTransactionManager transactionManager,
+                                              int batchSize, Duration gapTimeout, Duration retention, LongSupplier nanoClock) {
+        this.invalidationRepository = invalidationRepository;
+        this.invalidationMapper = invalidationMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.retention = retention;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Nothing is cached yet at startup, so earlier invalidations are skipped.
+     */
+    @PostConstruct
+    void init() {
+        lastSeenId = invalidationRepository.findMaxId().orElse(0L);
+        lastReceivedAt = nanoClock.getAsLong();
+        log.info("Receiving cache invalidations after id {}", lastSeenId);
+    }
+
+    @Override
+    public void send(List<CacheInvalidationDTO> invalidations) {
+        invalidationRepository.saveAll(invalidations.stream().map(invalidationMapper::toEntity).toList());
+    }
+
+    @Override
+    public List<CacheInvalidationDTO> receive() {
+        synchronized (lock) {
+            long now = nanoClock.getAsLong();
+            List<CacheInvalidationDTO> received = new ArrayList<>();
+            if (now - lastReceivedAt > retention.toNanos()) {
+                log.warn("No cache invalidations received for more than {}, invalidating everything", retention);
+                gaps.clear();
+                lastSeenId = invalidationRepository.findMaxId().orElse(lastSeenId);
+                invalidateAll(received);
+            }
+
+            if (!gaps.isEmpty()) {
+                for (CacheInvalidationEntry entry : invalidationRepository.findAllById(List.copyOf(gaps.keySet()))) {
+                    gaps.remove(entry.getId());
+                    received.add(invalidationMapper.toDTO(entry));
+                }
+            }
+
+            List<CacheInvalidationEntry> entries;
+            do {
+                entries = invalidationRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, PageRequest.of(0, batchSize));
+                for (CacheInvalidationEntry entry : entries) {
+                    trackGapsBefore(entry.getId(), now, received);
+                    lastSeenId = entry.getId();
+                    received.add(invalidationMapper.toDTO(entry));
+                }
+            } while (entries.size() == batchSize);
+
+            gaps.values().removeIf(missingSince -> now - missingSince > gapTimeoutNanos);
+            lastReceivedAt = now;
+            return received;
+        }
+    }
+
+    private void trackGapsBefore(long id, long now, List<CacheInvalidationDTO> received) {
+        if (id - lastSeenId - 1 + gaps.size() > MAX_TRACKED_GAPS) {
+            log.warn("Too many missing cache invalidation ids before id {}, invalidating everything", id);
+            gaps.clear();
+            invalidateAll(received);
+            return;
+        }
+        for (long missing = lastSeenId + 1; missing < id; missing++) {
+            gaps.put(missing, now);
+        }
+    }
+
+    private static void invalidateAll(List<CacheInvalidationDTO> received) {
+        for (ChangeEntityType type : ChangeEntityType.values()) {
+            received.add(new CacheInvalidationDTO(type, null, null));
+        }
+    }
+
+    @Scheduled(cron = "${device-manager.cache-invalidation.prune-cron:0 */10 * * * *}")
+    void pruneInvalidations() {
+        var cutoff = LocalDateTime.now().minus(retention);
+        int pruned = transactionTemplate.execute(status -> invalidationRepository.deleteOlderThan(cutoff));
+        log.debug("Pruned {} cache invalidations older than {}", pruned, cutoff);
+    }
+}
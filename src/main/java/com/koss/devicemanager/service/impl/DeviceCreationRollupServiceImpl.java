@@ -0,0 +1,256 @@
+package com.koss.devicemanager.service.impl;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.entity.DeviceCreationRollup;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.mapper.DeviceCreationRollupMapper;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.repository.DeviceCreationRollupBatchRepository;
+import com.koss.devicemanager.repository.DeviceCreationRollupRepository;
+import com.koss.devicemanager.service.DeviceCreationRollupService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps per-brand device creation counts at minute, hour and day granularity. Every catalog write
+ * journals its changes per bucket in the same transaction, and each flush folds the journal into
+ * the rollup table in one batch, so a burst of inserts into the same bucket costs one row update
+ * instead of one per device. A crash loses nothing: the journal is applied by the next flush.
+ * <p>
+ * Minute buckets are only kept for {@code minuteRetentionDays}. {@link #rebuild()} recomputes the
+ * rollups from the device table. Every writer of the rollup table takes the database-level rollup
+ * lock first, so flushes, brand renames and rebuilds from several instances do not interleave.
+ */
+@Service
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@Slf4j
+public class DeviceCreationRollupServiceImpl implements DeviceCreationRollupService {
+    private static final int FLUSH_BATCH_SIZE = 10_000;
+
+    private final DeviceCreationRollupRepository rollupRepository;
+    private final DeviceCreationRollupBatchRepository rollupBatchRepository;
+    private final DeviceBatchRepository deviceBatchRepository;
+    private final DeviceCreationRollupMapper rollupMapper;
+    private final PlatformTransactionManager transactionManager;
+    @Value("${device-manager.rollups.minute-retention-days:30}")
+    private final int minuteRetentionDays;
+
+    /**
+     * Keeps flushes of this instance from each holding a connection while they wait for the rollup lock.
+     */
+    private final Object flushLock = new Object();
+    private TransactionTemplate rollupTransaction;
+
+    @PostConstruct
+    void init() {
+        rollupTransaction = new TransactionTemplate(transactionManager);
+        rollupTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Builds the rollups when there are none yet, and otherwise applies the deltas that a previous
+     * run journaled but did not flush.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void restore() {
+        if (rollupRepository.count() == 0) {
+            rebuild();
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Runs right before the publishing transaction commits and writes into it, so the deltas are
+     * committed or rolled back together with the write they count. Brand renames and clears are
+     * applied to the rollups and the journal in the same transaction, under the rollup lock. The lock
+     * is taken before the pending deltas are journaled, so a flush waiting for them does not hold it.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        var minuteCutoff = minuteCutoff();
+        Map<BucketKey, Long> deltas = new HashMap<>();
+        for (CatalogChangeDTO change : event.getChanges()) {
+            if (change.getEntityType() == ChangeEntityType.BRAND) {
+                if (change.getChangeType() == ChangeType.UPDATED && change.getPreviousBrand() != null
+                        && !change.getPreviousBrand().equals(change.getName())) {
+                    rollupBatchRepository.lock();
+                    appendDeltas(deltas);
+                    deltas.clear();
+                    rollupBatchRepository.renameBrand(change.getPreviousBrand(), change.getName());
+                }
+                continue;
+            }
+            switch (change.getChangeType()) {
+                case CREATED -> count(deltas, change.getBrand(), change.getCreationTime(), 1, minuteCutoff);
+                case DELETED -> count(deltas, change.getBrand(), change.getCreationTime(), -1, minuteCutoff);
+                case UPDATED -> {
+                    if (change.getPreviousBrand() != null && !change.getPreviousBrand().equals(change.getBrand())) {
+                        count(deltas, change.getPreviousBrand(), change.getCreationTime(), -1, minuteCutoff);
+                        count(deltas, change.getBrand(), change.getCreationTime(), 1, minuteCutoff);
+                    }
+                }
+                case CLEARED -> {
+                    deltas.clear();
+                    rollupBatchRepository.lock();
+                    rollupBatchRepository.deleteAll();
+                }
+            }
+        }
+        appendDeltas(deltas);
+    }
+
+    @Override
+    public List<DeviceCreationBucketDTO> getCreationCounts(RollupGranularity granularity, LocalDateTime from,
+                                                           LocalDateTime to, String brand) {
+        log.info("Fetching {} device creation counts between {} and {} for brand: {}", granularity, from, to, brand);
+        flush();
+        var buckets = rollupRepository.findBuckets(granularity, granularity.bucketOf(from), to, brand).stream()
+                .map(rollupMapper::toDTO)
+                .toList();
+        log.info("Fetched {} device creation buckets", buckets.size());
+        return buckets;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${device-manager.rollups.flush-interval:PT5S}")
+    public void flush() {
+        synchronized (flushLock) {
+            try {
+                int flushed = rollupTransaction.execute(status -> {
+                    rollupBatchRepository.lock();
+                    return applyDeltas();
+                });
+                if (flushed > 0) {
+                    log.debug("Flushed {} device creation rollup deltas", flushed);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to flush device creation rollup deltas, retrying on the next flush: {}", ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Folds the journal into the rollups batch by batch. Deltas are claimed with a locking read and
+     * deleted by id rather than by range, so that a journal row whose transaction commits during the
+     * flush is left for the next one.
+     */
+    private int applyDeltas() {
+        int applied = 0;
+        long afterId = 0;
+        List<DeviceCreationRollup> deltas;
+        do {
+            deltas = rollupBatchRepository.claimDeltas(afterId, FLUSH_BATCH_SIZE);
+            if (deltas.isEmpty()) {
+                break;
+            }
+            Map<BucketKey, Long> counts = new HashMap<>();
+            deltas.forEach(delta -> counts.merge(new BucketKey(delta.getGranularity(), delta.getBucketStart(), delta.getBrand()),
+                    delta.getDeviceCount(), Long::sum));
+            counts.values().removeIf(count -> count == 0);
+            if (!counts.isEmpty()) {
+                rollupBatchRepository.addCounts(toRows(counts));
+            }
+            rollupBatchRepository.deleteDeltas(deltas.stream().map(DeviceCreationRollup::getId).toList());
+            afterId = deltas.get(deltas.size() - 1).getId();
+            applied += deltas.size();
+        } while (deltas.size() == FLUSH_BATCH_SIZE);
+        return applied;
+    }
+
+    /**
+     * Changes committed while the device table is scanned may be counted twice, so rebuilds are
+     * meant for quiet periods.
+     */
+    @Override
+    public long rebuild() {
+        synchronized (flushLock) {
+            log.info("Rebuilding device creation rollups from the device table");
+            var minuteCutoff = minuteCutoff();
+            Map<BucketKey, Long> counts = new HashMap<>();
+            long[] devices = new long[1];
+            deviceBatchRepository.scanAll(rs -> {
+                var creationTime = rs.getTimestamp("creation_time");
+                if (creationTime != null) {
+                    count(counts, rs.getString("brand"), creationTime.toLocalDateTime(), 1, minuteCutoff);
+                    devices[0]++;
+                }
+            });
+            // Journaled deltas are committed and therefore already seen by the scan.
+            rollupTransaction.executeWithoutResult(status -> {
+                rollupBatchRepository.lock();
+                rollupBatchRepository.deleteAll();
+                rollupBatchRepository.insertAll(toRows(counts));
+            });
+            log.info("Rebuilt {} device creation rollups from {} devices", counts.size(), devices[0]);
+            return devices[0];
+        }
+    }
+
+    @Scheduled(cron = "${device-manager.rollups.prune-cron:0 15 * * * *}")
+    void pruneMinuteBuckets() {
+        var cutoff = minuteCutoff();
+        synchronized (flushLock) {
+            int pruned = rollupTransaction.execute(status -> {
+                rollupBatchRepository.lock();
+                return rollupBatchRepository.deleteOlderThan(RollupGranularity.MINUTE, cutoff);
+            });
+            log.info("Pruned {} minute rollups older than {}", pruned, cutoff);
+        }
+    }
+
+    private void count(Map<BucketKey, Long> deltas, String brand, LocalDateTime creationTime, long delta,
+                       LocalDateTime minuteCutoff) {
+        if (brand == null || creationTime == null) {
+            return;
+        }
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            var bucketStart = granularity.bucketOf(creationTime);
+            if (granularity == RollupGranularity.MINUTE && bucketStart.isBefore(minuteCutoff)) {
+                continue;
+            }
+            deltas.merge(new BucketKey(granularity, bucketStart, brand), delta, Long::sum);
+        }
+    }
+
+    private void appendDeltas(Map<BucketKey, Long> deltas) {
+        deltas.values().removeIf(delta -> delta == 0);
+        rollupBatchRepository.appendDeltas(toRows(deltas));
+    }
+
+    private LocalDateTime minuteCutoff() {
+        return RollupGranularity.MINUTE.bucketOf(LocalDateTime.now().minusDays(minuteRetentionDays));
+    }
+
+    private static List<DeviceCreationRollup> toRows(Map<BucketKey, Long> counts) {
+        List<DeviceCreationRollup> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) ->
+                rows.add(new DeviceCreationRollup(null, key.granularity(), key.bucketStart(), key.brand(), count)));
+        return rows;
+    }
+
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart, String brand) {
+    }
+}
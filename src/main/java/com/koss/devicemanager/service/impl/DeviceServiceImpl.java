@@ -1,39 +1,185 @@
 package com.koss.devicemanager.service.impl;
 
+import com.koss.devicemanager.dto.BatchItemOutcome;
+import com.koss.devicemanager.dto.BatchItemResultDTO;
+import com.koss.devicemanager.dto.BatchOperationResultDTO;
+import com.koss.devicemanager.dto.BulkUpsertResultDTO;
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.CursorPageDTO;
+import com.koss.devicemanager.dto.DeviceBatchDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.dto.DevicePatchDTO;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
 import com.koss.devicemanager.exception.DeviceNotFoundException;
 import com.koss.devicemanager.mapper.DeviceMapper;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
 import com.koss.devicemanager.repository.DeviceRepository;
 import com.koss.devicemanager.service.BrandService;
+import com.koss.devicemanager.service.CatalogExistenceFilter;
+import com.koss.devicemanager.service.DeviceCatalogReplica;
 import com.koss.devicemanager.service.DeviceService;
+import com.koss.devicemanager.util.CreationTimeCursor;
+import com.koss.devicemanager.util.RowSource;
+import com.koss.devicemanager.util.SingleFlight;
+import com.koss.devicemanager.util.VersionedCache;
+import com.koss.devicemanager.util.WriteCombiner;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 @Slf4j
-public class DeviceServiceImpl implements DeviceService {
+public class DeviceServiceImpl implements DeviceService, MeterBinder {
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final DeviceRepository deviceRepository;
+    private final DeviceBatchRepository deviceBatchRepository;
     private final BrandService brandService;
     private final DeviceMapper deviceMapper;
+    private final DeviceCatalogReplica catalogReplica;
+    private final CatalogExistenceFilter existenceFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    @Qualifier("bulkWriteExecutor")
+    private final Executor bulkWriteExecutor;
+    @Value("${device-manager.bulk-write.chunk-size:1000}")
+    private final int writeChunkSize;
+    // Identical lookups running at the same time share one query, e.g. for a device on a popular page.
+    private final SingleFlight<Long, DeviceDTO> deviceByIdLookups = new SingleFlight<>();
+    private final SingleFlight<String, List<DeviceDTO>> devicesByBrandLookups = new SingleFlight<>();
+
+    @Value("${device-manager.write-combiner.enabled:false}")
+    private boolean writeCombinerEnabled;
+    @Value("${device-manager.write-combiner.max-batch-size:64}")
+    private int writeCombinerMaxBatchSize = 64;
+    @Value("${device-manager.write-combiner.window-millis:2}")
+    private long writeCombinerWindowMillis = 2;
+    private WriteCombiner<DeviceDTO, DeviceDTO> createCombiner;
+    @Value("${device-manager.page-cache.enabled:false}")
+    private boolean pageCacheEnabled;
+    @Value("${device-manager.page-cache.max-entries:1000}")
+    private long pageCacheMaxEntries = 1000;
+    private VersionedCache<PageKey, Page<DeviceDTO>> pageCache;
+    private VersionedCache<CreationTimeRangeKey, CursorPageDTO<DeviceDTO>> creationTimeRangeCache;
+    @Value("${device-manager.brand-cache.enabled:false}")
+    private boolean brandCacheEnabled;
+    @Value("${device-manager.brand-cache.max-entries:200}")
+    private long brandCacheMaxEntries = 200;
+    // Invalidated per brand, unlike the listing pages, so writes to one brand leave the others cached.
+    private VersionedCache<BrandKey, List<DeviceDTO>> devicesByBrandCache;
+
+    private record PageKey(Pageable pageable, Set<DeviceField> fields) {
+    }
+
+    private record CreationTimeRangeKey(LocalDateTime from, LocalDateTime to, String brand, String cursor, int limit) {
+    }
+
+    /**
+     * Brand names may compare case-insensitively in the database, so one brand's devices can be
+     * cached under several spellings. They all hash alike and so share an invalidation stripe.
+     */
+    private record BrandKey(String name) {
+        @Override
+        public int hashCode() {
+            return name.toLowerCase(Locale.ROOT).hashCode();
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (pageCacheEnabled) {
+            pageCache = new VersionedCache<>(pageCacheMaxEntries);
+            creationTimeRangeCache = new VersionedCache<>(pageCacheMaxEntries);
+        }
+        if (brandCacheEnabled) {
+            devicesByBrandCache = new VersionedCache<>(brandCacheMaxEntries);
+        }
+        if (writeCombinerEnabled) {
+            createCombiner = new WriteCombiner<>(writeCombinerMaxBatchSize, writeCombinerWindowMillis, TimeUnit.MILLISECONDS,
+                    devices -> transactionTemplate.execute(status -> persistDevices(devices, resolveBrands(devices))),
+                    this::insertDevice);
+        }
+    }
 
     @Override
     public Page<DeviceDTO> getPaginatedDevices(Pageable pageable) {
         log.info("Retrieving paginated devices with page size: {}, page number: {}", pageable.getPageSize(), pageable.getPageNumber());
-        var pageableDevices = deviceRepository.findAll(pageable);
-        log.info("Total devices found: {}", pageableDevices.getTotalElements());
-        return pageableDevices.map(deviceMapper::toDTO);
+        if (catalogReplica.isReady() && pageable.isPaged() && pageable.getSort().isUnsorted()) {
+            var devices = catalogReplica.findPage((int) pageable.getOffset(), pageable.getPageSize());
+            return new PageImpl<>(devices, pageable, catalogReplica.size());
+        }
+        return cached(pageCache, new PageKey(pageable, null), () -> {
+            var pageableDevices = deviceRepository.findAll(pageable);
+            log.info("Total devices found: {}", pageableDevices.getTotalElements());
+            return pageableDevices.map(deviceMapper::toDTO);
+        });
+    }
+
+    @Override
+    public Page<DeviceDTO> getPaginatedDevices(Pageable pageable, Set<DeviceField> fields) {
+        log.info("Retrieving paginated devices with page size: {}, page number: {}, fields: {}",
+                pageable.getPageSize(), pageable.getPageNumber(), fields);
+        return cached(pageCache, new PageKey(pageable, Set.copyOf(fields)), () -> {
+            var devices = deviceRepository.findProjected(fields, null, pageable).stream()
+                    .map(tuple -> deviceMapper.toProjectedDTO(tuple, fields))
+                    .toList();
+            var page = new PageImpl<>(devices, pageable, deviceRepository.count());
+            log.info("Total devices found: {}", page.getTotalElements());
+            return page;
+        });
     }
 
     @Override
     public List<DeviceDTO> findAllDevices() {
+        if (catalogReplica.isReady()) {
+            log.info("Retrieving all devices from the catalog replica.");
+            return catalogReplica.findAll();
+        }
         log.info("Retrieving all devices from the database.");
         var devices = deviceRepository.findAll().stream()
                 .map(deviceMapper::toDTO)
@@ -42,50 +188,171 @@ public class DeviceServiceImpl implements DeviceService {
         return devices;
     }
 
+    @Override
+    public List<DeviceDTO> findAllDevices(Set<DeviceField> fields) {
+        log.info("Retrieving all devices from the database with fields: {}", fields);
+        var devices = deviceRepository.findProjected(fields, null, Pageable.unpaged()).stream()
+                .map(tuple -> deviceMapper.toProjectedDTO(tuple, fields))
+                .toList();
+        log.info("Number of devices retrieved: {}", devices.size());
+        return devices;
+    }
+
     @Override
     public DeviceDTO findDeviceById(Long id) {
         log.info("Attempting to find device by ID: {}", id);
-        var device = deviceRepository.findById(id)
+        rejectExcludedDevice(id);
+        return deviceByIdLookups.execute(id, () -> {
+            var device = deviceRepository.findById(id)
+                    .orElseThrow(() -> {
+                        log.debug("Device not found with ID: {}", id);
+                        return new DeviceNotFoundException(id);
+                    });
+            log.info("Device found: {}", device);
+            return deviceMapper.toDTO(device);
+        });
+    }
+
+    @Override
+    public DeviceDTO findDeviceById(Long id, Set<DeviceField> fields) {
+        log.info("Attempting to find device by ID: {} with fields: {}", id, fields);
+        rejectExcludedDevice(id);
+        var device = deviceRepository.findProjectedById(fields, id)
                 .orElseThrow(() -> {
-                    log.error("Device not found with ID: {}", id);
+                    log.debug("Device not found with ID: {}", id);
                     return new DeviceNotFoundException(id);
                 });
-        log.info("Device found: {}", device);
-        return deviceMapper.toDTO(device);
+        return deviceMapper.toProjectedDTO(device, fields);
+    }
+
+    @Override
+    public DeviceBatchDTO findDevicesByIds(Collection<Long> ids) {
+        log.info("Finding {} devices by ID", ids.size());
+        Map<Long, DeviceDTO> found = new LinkedHashMap<>();
+        ids.forEach(id -> found.put(id, null));
+        if (catalogReplica.isReady()) {
+            found.replaceAll((id, device) -> catalogReplica.findById(id).orElse(null));
+        } else {
+            var candidates = found.keySet().stream().filter(id -> !excludesDevice(id)).toList();
+            if (!candidates.isEmpty()) {
+                deviceRepository.findWithBrandByIdIn(candidates)
+                        .forEach(device -> found.put(device.getId(), deviceMapper.toDTO(device)));
+            }
+        }
+
+        List<DeviceDTO> devices = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        found.forEach((id, device) -> {
+            if (device != null) {
+                devices.add(device);
+            } else {
+                missingIds.add(id);
+            }
+        });
+        log.info("Devices found: {}, missing: {}", devices.size(), missingIds.size());
+        return new DeviceBatchDTO(devices, missingIds);
+    }
+
+    @Override
+    public CursorPageDTO<DeviceDTO> findDevicesByCreationTime(LocalDateTime from, LocalDateTime to, String brand,
+                                                              String cursor, int limit) {
+        log.info("Finding devices created between {} and {} for brand: {}, cursor: {}", from, to, brand, cursor);
+        if (brand != null && excludesBrand(brand)) {
+            log.debug("Brand '{}' excluded by the existence filter", brand);
+            return new CursorPageDTO<>(List.of(), cursor);
+        }
+        return cached(creationTimeRangeCache, new CreationTimeRangeKey(from, to, brand, cursor, limit),
+                () -> queryDevicesByCreationTime(from, to, brand, cursor, limit));
+    }
+
+    private CursorPageDTO<DeviceDTO> queryDevicesByCreationTime(LocalDateTime from, LocalDateTime to, String brand,
+                                                                String cursor, int limit) {
+        var after = cursor == null ? null : CreationTimeCursor.decode(cursor);
+        var devices = deviceRepository.findByCreationTimeRange(from, to, brand,
+                after == null ? null : after.getCreationTime(),
+                after == null ? null : after.getId(),
+                limit);
+        // The cursor is handed out even on a short page so that incremental consumers can poll for newer devices.
+        var nextCursor = cursor;
+        if (!devices.isEmpty()) {
+            var last = devices.get(devices.size() - 1);
+            nextCursor = new CreationTimeCursor(last.getCreationTime(), last.getId()).encode();
+        }
+        log.info("Found {} devices created in range", devices.size());
+        return new CursorPageDTO<>(devices.stream().map(deviceMapper::toDTO).toList(), nextCursor);
     }
 
     @Override
     public List<DeviceDTO> findDevicesByBrand(String brand) {
         log.info("Finding devices for brand: {}", brand);
-        var byBrandName = deviceRepository.findByBrandName(brand);
-        log.info("Number of devices found for brand '{}': {}", brand, byBrandName.size());
-        return byBrandName.stream().map(deviceMapper::toDTO).toList();
+        if (excludesBrand(brand)) {
+            log.debug("Brand '{}' excluded by the existence filter", brand);
+            return List.of();
+        }
+        if (catalogReplica.isReady()) {
+            return catalogReplica.findByBrand(brand);
+        }
+        return cached(devicesByBrandCache, new BrandKey(brand), () -> devicesByBrandLookups.execute(brand, () -> {
+            var byBrandName = deviceRepository.findByBrandName(brand);
+            log.info("Number of devices found for brand '{}': {}", brand, byBrandName.size());
+            return byBrandName.stream().map(deviceMapper::toDTO).toList();
+        }));
     }
 
     @Override
-    @Transactional
+    public List<DeviceDTO> findDevicesByBrand(String brand, Set<DeviceField> fields) {
+        log.info("Finding devices for brand: {} with fields: {}", brand, fields);
+        if (excludesBrand(brand)) {
+            log.debug("Brand '{}' excluded by the existence filter", brand);
+            return List.of();
+        }
+        var devices = deviceRepository.findProjected(fields, brand, Pageable.unpaged()).stream()
+                .map(tuple -> deviceMapper.toProjectedDTO(tuple, fields))
+                .toList();
+        log.info("Number of devices found for brand '{}': {}", brand, devices.size());
+        return devices;
+    }
+
+    /**
+     * With the write combiner enabled, concurrent calls are inserted together in one transaction.
+     * Calls made inside a caller's transaction are never combined, so they still commit with it.
+     */
+    @Override
     public DeviceDTO addDevice(DeviceDTO deviceDTO) {
         log.info("Adding new device: {}", deviceDTO);
-        var device = deviceMapper.toEntity(deviceDTO);
-        device.setBrand(brandService.getOrCreateBrand(deviceDTO.getBrand()));
-        var savedDevice = deviceMapper.toDTO(deviceRepository.save(device));
+        var savedDevice = createCombiner != null && !TransactionSynchronizationManager.isActualTransactionActive()
+                ? createCombiner.submit(deviceDTO)
+                : insertDevice(deviceDTO);
         log.info("Device added: {}", savedDevice);
         return savedDevice;
     }
 
+    private DeviceDTO insertDevice(DeviceDTO deviceDTO) {
+        return transactionTemplate.execute(status -> {
+            var device = deviceMapper.toEntity(deviceDTO);
+            device.setBrand(brandService.getOrCreateBrand(deviceDTO.getBrand()));
+            var saved = deviceRepository.save(device);
+            publish(List.of(CatalogChangeEvent.deviceChange(ChangeType.CREATED, saved, null)));
+            return deviceMapper.toDTO(saved);
+        });
+    }
+
     @Override
     @Transactional
     public DeviceDTO updateDevice(Long id, DeviceDTO updatedDeviceDTO) {
         log.info("Updating device with ID: {}", id);
         var existingDevice = deviceRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Device not found with ID: {}", id);
+                    log.debug("Device not found with ID: {}", id);
                     return new DeviceNotFoundException(id);
                 });
 
+        var previousBrand = existingDevice.getBrand().getName();
         existingDevice.setName(updatedDeviceDTO.getName());
         existingDevice.setBrand(brandService.getOrCreateBrand(updatedDeviceDTO.getBrand()));
-        var updatedDevice = deviceMapper.toDTO(deviceRepository.save(existingDevice));
+        var saved = deviceRepository.save(existingDevice);
+        publish(List.of(CatalogChangeEvent.deviceChange(ChangeType.UPDATED, saved, previousBrand)));
+        var updatedDevice = deviceMapper.toDTO(saved);
         log.info("Device updated: {}", updatedDevice);
         return updatedDevice;
     }
@@ -96,10 +363,11 @@ public class DeviceServiceImpl implements DeviceService {
         log.info("Partially updating device with ID: {}", id);
         var existingDevice = deviceRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Device not found with ID: {}", id);
+                    log.debug("Device not found with ID: {}", id);
                     return new DeviceNotFoundException(id);
                 });
 
+        var previousBrand = existingDevice.getBrand().getName();
         if (updatedDeviceDTO.getName() != null) {
             existingDevice.setName(updatedDeviceDTO.getName());
             log.info("Device name updated to: {}", updatedDeviceDTO.getName());
@@ -110,20 +378,24 @@ public class DeviceServiceImpl implements DeviceService {
             log.info("Device brand updated to: {}", updatedDeviceDTO.getBrand());
         }
 
-        var patchedDevice = deviceMapper.toDTO(deviceRepository.save(existingDevice));
+        var saved = deviceRepository.save(existingDevice);
+        publish(List.of(CatalogChangeEvent.deviceChange(ChangeType.UPDATED, saved, previousBrand)));
+        var patchedDevice = deviceMapper.toDTO(saved);
         log.info("Device partially updated: {}", patchedDevice);
         return patchedDevice;
     }
 
     @Override
+    @Transactional
     public void deleteDevice(Long id) {
         log.info("Attempting to delete device with ID: {}", id);
         var device = deviceRepository.findById(id)
                 .orElseThrow(() -> {
-                    log.error("Device not found with ID: {}", id);
+                    log.debug("Device not found with ID: {}", id);
                     return new DeviceNotFoundException(id);
                 });
         deviceRepository.delete(device);
+        publish(List.of(CatalogChangeEvent.deviceDeleted(device)));
         log.info("Device deleted with ID: {}", id);
     }
 
@@ -131,24 +403,467 @@ public class DeviceServiceImpl implements DeviceService {
     @Transactional
     public List<DeviceDTO> saveAllDevices(List<DeviceDTO> devices) {
         log.info("Saving multiple devices, total count: {}", devices.size());
+        var savedDevices = persistDevices(devices, resolveBrands(devices));
+        log.info("Devices saved successfully, total count: {}", savedDevices.size());
+        return savedDevices;
+    }
+
+    /**
+     * Persists the devices in chunks while the source is still being read, all in one transaction,
+     * so a payload rejected part way through saves nothing.
+     */
+    @Override
+    @Transactional(rollbackFor = IOException.class)
+    public List<DeviceDTO> saveAllDevicesStreaming(RowSource<DeviceDTO> devices) throws IOException {
+        log.info("Saving streamed devices, chunk size: {}", writeChunkSize);
+        List<DeviceDTO> savedDevices = new ArrayList<>();
+        List<DeviceDTO> chunk = new ArrayList<>(writeChunkSize);
+        devices.forEachRow(device -> {
+            chunk.add(device);
+            if (chunk.size() == writeChunkSize) {
+                savedDevices.addAll(persistDevices(chunk, resolveBrands(chunk)));
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            savedDevices.addAll(persistDevices(chunk, resolveBrands(chunk)));
+        }
+        log.info("Devices saved successfully, total count: {}", savedDevices.size());
+        return savedDevices;
+    }
+
+    /**
+     * Splits the payload into chunks that are persisted concurrently, each in its own transaction.
+     * Brands are resolved once up front so the workers only read the shared map. A failing chunk
+     * does not roll back chunks that already committed; the first failure is rethrown once all
+     * chunks have finished.
+     */
+    @Override
+    public List<DeviceDTO> saveAllDevicesInParallel(List<DeviceDTO> devices) {
+        log.info("Saving multiple devices in parallel, total count: {}, chunk size: {}", devices.size(), writeChunkSize);
+        var brands = resolveBrands(devices);
+
+        List<CompletableFuture<List<DeviceDTO>>> chunks = new ArrayList<>();
+        for (int from = 0; from < devices.size(); from += writeChunkSize) {
+            var chunk = devices.subList(from, Math.min(from + writeChunkSize, devices.size()));
+            chunks.add(CompletableFuture.supplyAsync(
+                    () -> transactionTemplate.execute(status -> persistDevices(chunk, brands)), bulkWriteExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException ex) {
+            log.error("Parallel save failed: {}", ex.getCause().getMessage());
+            throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+        }
+
+        List<DeviceDTO> savedDevices = new ArrayList<>(devices.size());
+        chunks.forEach(chunk -> savedDevices.addAll(chunk.join()));
+        log.info("Devices saved successfully in {} chunks, total count: {}", chunks.size(), savedDevices.size());
+        return savedDevices;
+    }
+
+    /**
+     * Matches incoming devices on their external id when present, otherwise on (brand, name). A
+     * device whose external id is not known yet falls back to (brand, name) among devices without
+     * an external id, and takes that row over instead of duplicating it.
+     * Devices that already match are skipped without a write, changed ones are updated in batch
+     * and only unknown ones are inserted, as one JDBC batch, so a repeated full-catalog sync costs
+     * work proportional to what changed.
+     */
+    @Override
+    @Transactional
+    public BulkUpsertResultDTO upsertAllDevices(List<DeviceDTO> devices) {
+        log.info("Upserting multiple devices, total count: {}", devices.size());
+        Map<String, Device> byExternalId = new HashMap<>();
+        inChunks(devices.stream().map(DeviceDTO::getExternalId).filter(Objects::nonNull).distinct().toList(),
+                chunk -> deviceRepository.findByExternalIdIn(chunk)
+                        .forEach(d -> byExternalId.put(d.getExternalId(), d)));
+
+        var naturalKeyed = devices.stream()
+                .filter(d -> d.getExternalId() == null || !byExternalId.containsKey(d.getExternalId()))
+                .toList();
+        Map<String, Device> byNaturalKey = new HashMap<>();
+        inChunks(naturalKeyed, chunk -> deviceRepository.findByBrandAndNameIn(chunk.stream()
+                        .collect(Collectors.groupingBy(DeviceDTO::getBrand, Collectors.mapping(DeviceDTO::getName, Collectors.toSet()))))
+                .forEach(d -> byNaturalKey.putIfAbsent(naturalKey(d.getBrand().getName(), d.getName()), d)));
+
+        Map<String, Brand> brands = new HashMap<>();
+        List<Device> toInsert = new ArrayList<>();
+        Set<Device> toUpdate = new LinkedHashSet<>();
+        Map<Device, String> previousBrands = new HashMap<>();
+        int unchanged = 0;
+        for (DeviceDTO dto : devices) {
+            var naturalKey = naturalKey(dto.getBrand(), dto.getName());
+            var existing = dto.getExternalId() != null ? byExternalId.get(dto.getExternalId()) : null;
+            if (existing == null) {
+                var candidate = byNaturalKey.get(naturalKey);
+                // A device carrying another external id is a different device that shares the name
+                if (candidate != null && (dto.getExternalId() == null || candidate.getExternalId() == null)) {
+                    existing = candidate;
+                }
+            }
+            boolean adoptsExternalId = dto.getExternalId() != null && existing != null && existing.getExternalId() == null;
+
+            if (existing == null) {
+                var entity = deviceMapper.toEntity(dto);
+                entity.setBrand(brands.computeIfAbsent(dto.getBrand(), brandService::getOrCreateBrand));
+                toInsert.add(entity);
+                if (dto.getExternalId() != null) {
+                    byExternalId.put(dto.getExternalId(), entity);
+                }
+                byNaturalKey.putIfAbsent(naturalKey, entity);
+            } else if (!adoptsExternalId && existing.getName().equals(dto.getName())
+                    && existing.getBrand().getName().equals(dto.getBrand())) {
+                unchanged++;
+            } else {
+                if (existing.getId() != null) {
+                    previousBrands.putIfAbsent(existing, existing.getBrand().getName());
+                    toUpdate.add(existing);
+                }
+                existing.setName(dto.getName());
+                existing.setBrand(brands.computeIfAbsent(dto.getBrand(), brandService::getOrCreateBrand));
+                if (adoptsExternalId) {
+                    existing.setExternalId(dto.getExternalId());
+                    byExternalId.put(dto.getExternalId(), existing);
+                }
+            }
+        }
+
+        List<DeviceDTO> changedDevices = new ArrayList<>(toInsert.size() + toUpdate.size());
+        List<CatalogChangeDTO> changes = new ArrayList<>(toInsert.size() + toUpdate.size());
+        deviceBatchRepository.insertAll(toInsert).forEach(d -> {
+            changedDevices.add(deviceMapper.toDTO(d));
+            changes.add(CatalogChangeEvent.deviceChange(ChangeType.CREATED, d, null));
+        });
+        deviceRepository.saveAll(toUpdate).forEach(d -> {
+            changedDevices.add(deviceMapper.toDTO(d));
+            changes.add(CatalogChangeEvent.deviceChange(ChangeType.UPDATED, d, previousBrands.get(d)));
+        });
+        publish(changes);
+        log.info("Devices upserted, inserted: {}, updated: {}, unchanged: {}", toInsert.size(), toUpdate.size(), unchanged);
+        return new BulkUpsertResultDTO(toInsert.size(), toUpdate.size(), unchanged, changedDevices);
+    }
+
+    /**
+     * Applies partial updates chunk by chunk, each chunk in its own transaction: the devices are
+     * loaded with one query, unchanged ones are skipped and the rest are written as a single JDBC
+     * batch. A failing chunk rolls back only itself; earlier chunks stay committed. When an id
+     * appears more than once, the last patch for it wins.
+     */
+    @Override
+    public BatchOperationResultDTO patchDevices(List<DevicePatchDTO> patches) {
+        log.info("Patching multiple devices, total count: {}, chunk size: {}", patches.size(), writeChunkSize);
+        Map<Long, DevicePatchDTO> byId = new LinkedHashMap<>();
+        patches.forEach(patch -> byId.put(patch.getId(), patch));
+
+        Map<Long, BatchItemOutcome> outcomes = new LinkedHashMap<>();
+        var ids = List.copyOf(byId.keySet());
+        for (int from = 0; from < ids.size(); from += writeChunkSize) {
+            var chunk = ids.subList(from, Math.min(from + writeChunkSize, ids.size()));
+            outcomes.putAll(transactionTemplate.execute(status -> patchChunk(chunk, byId)));
+        }
+
+        var result = toBatchResult(outcomes);
+        log.info("Devices patched: {}, unchanged: {}, not found: {}", result.getAffected(), result.getUnchanged(), result.getNotFound());
+        return result;
+    }
+
+    private Map<Long, BatchItemOutcome> patchChunk(List<Long> ids, Map<Long, DevicePatchDTO> patches) {
+        Map<Long, Device> existing = new HashMap<>();
+        deviceRepository.findWithBrandByIdIn(ids).forEach(device -> existing.put(device.getId(), device));
+
+        Map<Long, BatchItemOutcome> outcomes = new LinkedHashMap<>();
+        Map<String, Brand> brands = new HashMap<>();
+        List<Device> changed = new ArrayList<>();
+        for (Long id : ids) {
+            var device = existing.get(id);
+            if (device == null) {
+                outcomes.put(id, BatchItemOutcome.NOT_FOUND);
+                continue;
+            }
+            var patch = patches.get(id);
+            var name = patch.getName() != null ? patch.getName() : device.getName();
+            var brandName = patch.getBrand() != null ? patch.getBrand() : device.getBrand().getName();
+            if (name.equals(device.getName()) && brandName.equals(device.getBrand().getName())) {
+                outcomes.put(id, BatchItemOutcome.UNCHANGED);
+                continue;
+            }
+            // Detached copy: the managed entity stays clean so Hibernate does not flush a second UPDATE.
+            var brand = brandName.equals(device.getBrand().getName())
+                    ? device.getBrand()
+                    : brands.computeIfAbsent(brandName, brandService::getOrCreateBrand);
+            changed.add(new Device(id, name, brand, device.getCreationTime(), device.getExternalId()));
+            outcomes.put(id, BatchItemOutcome.UPDATED);
+        }
+
+        if (!changed.isEmpty()) {
+            int[] counts = deviceBatchRepository.updateNameAndBrand(changed);
+            List<CatalogChangeDTO> changes = new ArrayList<>(changed.size());
+            for (int i = 0; i < counts.length; i++) {
+                var device = changed.get(i);
+                if (counts[i] == 0) {
+                    outcomes.put(device.getId(), BatchItemOutcome.NOT_FOUND);
+                } else {
+                    changes.add(CatalogChangeEvent.deviceChange(ChangeType.UPDATED, device,
+                            existing.get(device.getId()).getBrand().getName()));
+                }
+            }
+            publish(changes);
+        }
+        return outcomes;
+    }
+
+    @Override
+    public BatchOperationResultDTO deleteDevicesByIds(Collection<Long> ids) {
+        log.info("Deleting multiple devices by ID, total count: {}", ids.size());
+        var result = deleteInChunks(List.copyOf(new LinkedHashSet<>(ids)));
+        log.info("Devices deleted: {}, not found: {}", result.getAffected(), result.getNotFound());
+        return result;
+    }
+
+    @Override
+    public BatchOperationResultDTO deleteDevicesByBrand(String brand) {
+        log.info("Deleting all devices of brand: {}", brand);
+        var result = deleteInChunks(deviceRepository.findIdsByBrandName(brand));
+        log.info("Devices deleted for brand '{}': {}", brand, result.getAffected());
+        return result;
+    }
+
+    private BatchOperationResultDTO deleteInChunks(List<Long> ids) {
+        Map<Long, BatchItemOutcome> outcomes = new LinkedHashMap<>();
+        for (int from = 0; from < ids.size(); from += writeChunkSize) {
+            var chunk = ids.subList(from, Math.min(from + writeChunkSize, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                // Loaded first so that the change events carry brand and creation time of every deleted device.
+                Map<Long, Device> existing = new HashMap<>();
+                deviceRepository.findWithBrandByIdIn(chunk).forEach(device -> existing.put(device.getId(), device));
+                int[] counts = deviceBatchRepository.deleteByIds(chunk);
+                List<CatalogChangeDTO> changes = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    var device = existing.get(chunk.get(i));
+                    var deleted = counts[i] != 0 && device != null;
+                    outcomes.put(chunk.get(i), deleted ? BatchItemOutcome.DELETED : BatchItemOutcome.NOT_FOUND);
+                    if (deleted) {
+                        changes.add(CatalogChangeEvent.deviceDeleted(device));
+                    }
+                }
+                publish(changes);
+            });
+        }
+        return toBatchResult(outcomes);
+    }
+
+    private static BatchOperationResultDTO toBatchResult(Map<Long, BatchItemOutcome> outcomes) {
+        int affected = 0;
+        int unchanged = 0;
+        int notFound = 0;
+        List<BatchItemResultDTO> items = new ArrayList<>(outcomes.size());
+        for (var entry : outcomes.entrySet()) {
+            switch (entry.getValue()) {
+                case UPDATED, DELETED -> affected++;
+                case UNCHANGED -> unchanged++;
+                case NOT_FOUND -> notFound++;
+            }
+            items.add(new BatchItemResultDTO(entry.getKey(), entry.getValue()));
+        }
+        return new BatchOperationResultDTO(affected, unchanged, notFound, items);
+    }
+
+    private static String naturalKey(String brand, String name) {
+        return brand + '\0' + name;
+    }
+
+    private static <T> void inChunks(List<T> values, Consumer<List<T>> action) {
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            action.accept(values.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, values.size())));
+        }
+    }
+
+    private Map<String, Brand> resolveBrands(List<DeviceDTO> devices) {
+        Map<String, Brand> brands = new HashMap<>();
+        devices.forEach(d -> brands.computeIfAbsent(d.getBrand(), brandService::getOrCreateBrand));
+        return brands;
+    }
+
+    private List<DeviceDTO> persistDevices(List<DeviceDTO> devices, Map<String, Brand> brands) {
         var devicesToSave = devices.stream().map(d -> {
             var entity = deviceMapper.toEntity(d);
-            entity.setBrand(brandService.getOrCreateBrand(d.getBrand()));
+            entity.setBrand(brands.get(d.getBrand()));
             return entity;
         }).toList();
 
-        var savedDevices = deviceRepository.saveAll(devicesToSave)
-                .stream()
+        var saved = deviceBatchRepository.insertAll(devicesToSave);
+        publish(saved.stream().map(d -> CatalogChangeEvent.deviceChange(ChangeType.CREATED, d, null)).toList());
+        return saved.stream()
                 .map(deviceMapper::toDTO)
                 .toList();
-        log.info("Devices saved successfully, total count: {}", savedDevices.size());
-        return savedDevices;
+    }
+
+    /**
+     * Listeners run after the surrounding transaction commits, or immediately when there is none.
+     */
+    private void publish(List<CatalogChangeDTO> changes) {
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogChangeEvent(changes));
+        }
     }
 
     @Override
+    @Transactional
     public void deleteAllDevices() {
         log.info("Deleting all devices from the database.");
         deviceRepository.deleteAll();
+        publish(List.of(CatalogChangeEvent.devicesCleared()));
         log.info("All devices deleted successfully.");
     }
+
+    /**
+     * Callers arriving after a committed write must not join a lookup that started before it, nor
+     * be served a listing page cached before it.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        deviceByIdLookups.forgetAll();
+        devicesByBrandLookups.forgetAll();
+        invalidatePages();
+        invalidateBrands(event.getChanges());
+    }
+
+    /**
+     * Also invalidates right before the commit. Pages loaded between the two invalidations may
+     * already be stale by the time they are stored, and the second one discards them; without the
+     * first, pages cached before the write would be served until the after-commit listener runs.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCatalogChangeCommitting(CatalogChangeEvent event) {
+        invalidatePages();
+        invalidateBrands(event.getChanges());
+    }
+
+    /**
+     * Another instance changed the catalog. Any listing page may hold the changed devices, and a
+     * brand rename shows in every device of the brand, so everything is dropped.
+     */
+    @EventListener
+    public void onCatalogInvalidation(CatalogInvalidationEvent event) {
+        deviceByIdLookups.forgetAll();
+        devicesByBrandLookups.forgetAll();
+        invalidatePages();
+        if (devicesByBrandCache != null) {
+            // Invalidations carry ids only, which do not say which brand lists hold the device
+            devicesByBrandCache.invalidateAll();
+        }
+    }
+
+    private void invalidatePages() {
+        if (pageCache != null) {
+            pageCache.invalidateAll();
+            creationTimeRangeCache.invalidateAll();
+        }
+    }
+
+    /**
+     * Drops the cached device lists of every brand a change touches: for a device its brand and
+     * the brand it moved from, for a brand its name and its previous name.
+     */
+    private void invalidateBrands(List<CatalogChangeDTO> changes) {
+        if (devicesByBrandCache == null) {
+            return;
+        }
+        for (CatalogChangeDTO change : changes) {
+            if (change.getChangeType() == ChangeType.CLEARED) {
+                devicesByBrandCache.invalidateAll();
+                return;
+            }
+            var brand = change.getEntityType() == ChangeEntityType.BRAND ? change.getName() : change.getBrand();
+            if (brand != null) {
+                devicesByBrandCache.invalidate(new BrandKey(brand));
+            }
+            if (change.getPreviousBrand() != null) {
+                devicesByBrandCache.invalidate(new BrandKey(change.getPreviousBrand()));
+            }
+        }
+    }
+
+    private void rejectExcludedDevice(Long id) {
+        if (excludesDevice(id)) {
+            log.debug("Device not found with ID: {} (excluded by the existence filter)", id);
+            throw new DeviceNotFoundException(id);
+        }
+    }
+
+    /**
+     * A transaction may look up the devices and brands it has just written, which the existence
+     * filter only learns of right before the commit.
+     */
+    private boolean excludesDevice(Long id) {
+        return !TransactionSynchronizationManager.isActualTransactionActive() && existenceFilter.excludesDevice(id);
+    }
+
+    private boolean excludesBrand(String brand) {
+        return !TransactionSynchronizationManager.isActualTransactionActive() && existenceFilter.excludesBrand(brand);
+    }
+
+    /**
+     * Inside a transaction a read may see the transaction's own uncommitted writes, which must
+     * neither be cached nor be answered from the cache.
+     */
+    private static <K, V> V cached(VersionedCache<K, V> cache, K key, Supplier<V> loader) {
+        if (cache == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return loader.get();
+        }
+        return cache.get(key, loader);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindLookup(registry, "device_by_id", deviceByIdLookups);
+        bindLookup(registry, "devices_by_brand", devicesByBrandLookups);
+        if (pageCache != null) {
+            bindPageCache(registry, "pages", pageCache);
+            bindPageCache(registry, "creation_time_range", creationTimeRangeCache);
+        }
+        if (devicesByBrandCache != null) {
+            bindPageCache(registry, "devices_by_brand", devicesByBrandCache);
+        }
+        if (createCombiner != null) {
+            FunctionCounter.builder("device_manager.write_combiner.batches", createCombiner, WriteCombiner::getBatches)
+                    .description("Transactions used to insert devices through the write combiner")
+                    .register(registry);
+            FunctionCounter.builder("device_manager.write_combiner.writes", createCombiner, WriteCombiner::getWrites)
+                    .description("Devices inserted through the write combiner")
+                    .register(registry);
+        }
+    }
+
+    private static void bindPageCache(MeterRegistry registry, String cache, VersionedCache<?, ?> pages) {
+        FunctionCounter.builder("device_manager.page_cache.requests", pages, VersionedCache::getHits)
+                .description("Device listing requests by outcome: served from the page cache or loaded from the database")
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("device_manager.page_cache.requests", pages, VersionedCache::getMisses)
+                .description("Device listing requests by outcome: served from the page cache or loaded from the database")
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("device_manager.page_cache.size", pages, VersionedCache::size)
+                .description("Entries held by the page cache, including ones made stale by later writes")
+                .tag("cache", cache)
+                .register(registry);
+    }
+
+    private static void bindLookup(MeterRegistry registry, String lookup, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("device_manager.coalesced_lookups", flight, SingleFlight::getExecuted)
+                .description("Device lookups by outcome: executed against the database or merged into a concurrent one")
+                .tag("lookup", lookup)
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("device_manager.coalesced_lookups", flight, SingleFlight::getMerged)
+                .description("Device lookups by outcome: executed against the database or merged into a concurrent one")
+                .tag("lookup", lookup)
+                .tag("outcome", "merged")
+                .register(registry);
+    }
 }
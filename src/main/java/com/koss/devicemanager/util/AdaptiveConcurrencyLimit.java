@@ -0,0 +1,113 @@
+package com.koss.devicemanager.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the Gradient2 algorithm of Netflix'
+ * concurrency-limits library, combined with a multiplicative decrease on failures (AIMD).
+ * <p>
+ * Every completed request compares its latency against the long-window average latency of its
+ * latency class, e.g. its route: while latency stays within {@code tolerance} of that average the
+ * limit grows by roughly the square root of itself, and once requests start queueing below the
+ * application (connection pool, database) the ratio drops and the limit shrinks proportionally.
+ * Comparing each class only with itself keeps slow bulk calls from reading as congestion next to
+ * cheap lookups. Failed requests cut the limit by {@code backoffRatio}.
+ * <p>
+ * Admission is lock-free; limit updates are serialized, since they are a few arithmetic operations.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double MIN_GRADIENT = 0.5;
+    // Weight of a sample in the long-window average, about the last 600 samples of a class
+    private static final double LONG_WINDOW_WEIGHT = 1.0 / 600;
+    private static final double RECOVERY_DECAY = 0.95;
+    private static final int MAX_LATENCY_CLASSES = 256;
+    private static final String DEFAULT_LATENCY_CLASS = "default";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private final Map<String, Double> longWindowNanos = new HashMap<>();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                    double tolerance, double backoffRatio) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than {@code share} of the current limit are in flight. Lower
+     * shares make a request class shed first as the limit shrinks.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        release(DEFAULT_LATENCY_CLASS, latencyNanos, failed);
+    }
+
+    /**
+     * Releases an admitted request and feeds its outcome into the limit.
+     *
+     * @param latencyClass requests of similar cost, whose latencies are compared with each other
+     * @param latencyNanos time from admission to completion
+     * @param failed       whether the request failed in a way that indicates overload
+     */
+    public void release(String latencyClass, long latencyNanos, boolean failed) {
+        int concurrent = inFlight.getAndDecrement();
+        double latency = Math.max(1, latencyNanos);
+        synchronized (this) {
+            if (failed) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                return;
+            }
+            var key = longWindowNanos.containsKey(latencyClass) || longWindowNanos.size() < MAX_LATENCY_CLASSES
+                    ? latencyClass : DEFAULT_LATENCY_CLASS;
+            double longWindow = longWindowNanos.getOrDefault(key, latency);
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longWindow / latency));
+            // The average adopts sustained queueing only slowly, but once latency falls well below it,
+            // as after an overload, it decays fast so the limit does not overshoot.
+            if (longWindow > 2 * latency) {
+                longWindow *= RECOVERY_DECAY;
+            }
+            longWindowNanos.put(key, longWindow + (latency - longWindow) * LONG_WINDOW_WEIGHT);
+            double target = limit * gradient + Math.sqrt(limit);
+            double smoothed = limit * (1 - smoothing) + target * smoothing;
+            // Only grow while the limit is actually in use; an idle service says nothing about capacity.
+            if (smoothed > limit && concurrent < limit / 2) {
+                return;
+            }
+            limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
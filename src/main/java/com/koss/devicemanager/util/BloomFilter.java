@@ -0,0 +1,74 @@
+package com.koss.devicemanager.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set membership test with no false negatives: {@link #mightContain} is false only for keys that
+ * were never added, and true for keys that were added plus about {@code falsePositiveRate} of the
+ * others, as long as no more than {@code expectedInsertions} keys are added. Beyond that the rate
+ * grows, and the filter has to be rebuilt larger. Keys cannot be removed.
+ * <p>
+ * Each key sets {@code k} bits picked by double hashing of one 64-bit hash. Adding and testing are
+ * safe from any thread.
+ */
+public class BloomFilter {
+    private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+        int wordCount = Math.toIntExact(Math.max(1, (optimalBits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+    }
+
+    public void put(long key) {
+        setBits(Hashing.mix(key));
+    }
+
+    public void put(String key) {
+        setBits(Hashing.hash(key));
+    }
+
+    public boolean mightContain(long key) {
+        return testBits(Hashing.mix(key));
+    }
+
+    public boolean mightContain(String key) {
+        return testBits(Hashing.hash(key));
+    }
+
+    public long memoryBytes() {
+        return bitCount / 8;
+    }
+
+    private void setBits(long hash) {
+        long step = Hashing.mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            words.accumulateAndGet((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    private boolean testBits(long hash) {
+        long step = Hashing.mix(hash ^ SECOND_HASH_SEED) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,149 @@
+package com.koss.devicemanager.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.koss.devicemanager.dto.RowValidationErrorDTO;
+import com.koss.devicemanager.exception.BulkValidationException;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+import com.koss.devicemanager.exception.UnsupportedContentTypeException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads bulk payloads, arrays of rows in JSON, CBOR or Smile, one row at a time and validates each
+ * row as soon as it is parsed. A payload without a Content-Type is read as JSON, and any other
+ * format is rejected. Reading stops once {@code maxErrors} errors have been found or a row
+ * cannot be parsed, so a bad payload is rejected without parsing the rest of it, and the error list
+ * in the response never grows beyond the cap.
+ */
+@Component
+public class BulkPayloadReader {
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    private static final MediaType JSON_SUFFIX = MediaType.parseMediaType("application/*+json");
+    private static final int MAX_MESSAGE_LENGTH = 200;
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+    private final Validator validator;
+    private final int maxErrors;
+
+    public BulkPayloadReader(ObjectMapper objectMapper, Validator validator,
+                             @Value("${device-manager.bulk-validation.max-errors:100}") int maxErrors) {
+        this.jsonMapper = objectMapper;
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.validator = validator;
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Reads and validates the whole payload.
+     *
+     * @throws BulkValidationException if any row is invalid
+     * @throws UnsupportedContentTypeException if the payload is neither JSON, CBOR nor Smile
+     */
+    public <T> List<T> readAll(InputStream body, String contentType, Class<T> rowType) throws IOException {
+        List<T> rows = new ArrayList<>();
+        read(body, contentType, rowType, rows::add);
+        return rows;
+    }
+
+    /**
+     * Streams valid rows to {@code rowConsumer} as they are read. Rows stop being passed on at the
+     * first invalid one, though later rows are still checked up to the error cap; a consumer that
+     * acts on rows straight away has to cope with the payload being rejected afterwards.
+     *
+     * @throws BulkValidationException if any row is invalid
+     * @throws UnsupportedContentTypeException if the payload is neither JSON, CBOR nor Smile
+     */
+    public <T> void read(InputStream body, String contentType, Class<T> rowType, Consumer<T> rowConsumer) throws IOException {
+        List<RowValidationErrorDTO> errors = new ArrayList<>();
+        int rowIndex = 0;
+        try (JsonParser parser = mapperFor(contentType).createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw rejectRow(errors, rowIndex, "Payload must be an array of rows");
+            }
+            for (var token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw rejectRow(errors, rowIndex, "Payload ended before the closing bracket");
+                }
+                T row;
+                try {
+                    row = parser.readValueAs(rowType);
+                } catch (JsonProcessingException e) {
+                    throw rejectRow(errors, rowIndex, "Malformed row: " + e.getOriginalMessage());
+                }
+                if (row == null) {
+                    throw rejectRow(errors, rowIndex, "Row must not be null");
+                }
+                var violations = validator.validate(row).stream()
+                        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                        .toList();
+                for (ConstraintViolation<T> violation : violations) {
+                    errors.add(new RowValidationErrorDTO(rowIndex, violation.getPropertyPath().toString(),
+                            truncate(violation.getMessage())));
+                    if (errors.size() >= maxErrors) {
+                        throw new BulkValidationException(errors, true);
+                    }
+                }
+                if (errors.isEmpty()) {
+                    rowConsumer.accept(row);
+                }
+                rowIndex++;
+            }
+        } catch (JsonProcessingException e) {
+            // Structural errors between rows, e.g. a truncated payload
+            throw rejectRow(errors, rowIndex, "Malformed payload: " + e.getOriginalMessage());
+        }
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors, false);
+        }
+    }
+
+    private ObjectMapper mapperFor(String contentType) {
+        if (contentType == null) {
+            return jsonMapper;
+        }
+        try {
+            var mediaType = MediaType.parseMediaType(contentType);
+            if (CBOR.isCompatibleWith(mediaType)) {
+                return cborMapper;
+            }
+            if (SMILE.isCompatibleWith(mediaType)) {
+                return smileMapper;
+            }
+            if (MediaType.APPLICATION_JSON.isCompatibleWith(mediaType) || JSON_SUFFIX.includes(mediaType)) {
+                return jsonMapper;
+            }
+        } catch (InvalidMediaTypeException e) {
+            throw new InvalidRequestParameterException("Content-Type", e.getMessage());
+        }
+        throw new UnsupportedContentTypeException(contentType);
+    }
+
+    private static BulkValidationException rejectRow(List<RowValidationErrorDTO> errors, int rowIndex, String message) {
+        errors.add(new RowValidationErrorDTO(rowIndex, null, truncate(message)));
+        return new BulkValidationException(errors, true);
+    }
+
+    private static String truncate(String message) {
+        return message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH) + "...";
+    }
+}
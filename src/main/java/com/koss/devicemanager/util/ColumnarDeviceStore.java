@@ -0,0 +1,269 @@
+package com.koss.devicemanager.util;
+
+import com.koss.devicemanager.dto.DeviceDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Devices laid out column by column in primitive arrays, sorted by id. Brands are dictionary
+ * encoded as int codes, creation times are stored as epoch nanoseconds (UTC) and names and
+ * external ids are UTF-8 slices of a shared byte arena. Compared to cached entities this avoids
+ * an object header, a {@code String} and a {@code LocalDateTime} per device.
+ * <p>
+ * Removals only mark rows; {@link #compact()} drops them in one pass, so a batch of removals
+ * costs a single array shift. Rewritten names leave their old bytes in the arena until the next
+ * compaction reclaims them. Not thread-safe.
+ */
+public class ColumnarDeviceStore {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int ABSENT = -1;
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int[] brandCodes = new int[INITIAL_CAPACITY];
+    private long[] creationTimes = new long[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+    private int[] externalIdOffsets = new int[INITIAL_CAPACITY];
+    private int[] externalIdLengths = new int[INITIAL_CAPACITY];
+    private byte[] arena = new byte[INITIAL_CAPACITY * 16];
+    private int arenaSize;
+    private int size;
+    private final BitSet removed = new BitSet();
+
+    private final List<String> brandDictionary = new ArrayList<>();
+    private final Map<String, Integer> brandCodesByName = new HashMap<>();
+
+    public int size() {
+        return size - removed.cardinality();
+    }
+
+    public void upsert(long id, String name, String brand, LocalDateTime creationTime, String externalId) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            index = -index - 1;
+            insertRowAt(index);
+            ids[index] = id;
+        } else {
+            removed.clear(index);
+        }
+        brandCodes[index] = encodeBrand(brand);
+        creationTimes[index] = creationTime == null ? NO_TIME
+                : creationTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + creationTime.getNano();
+        int nameOffset = writeString(name);
+        nameOffsets[index] = nameOffset;
+        nameLengths[index] = nameOffset == ABSENT ? 0 : arenaSize - nameOffset;
+        int externalIdOffset = writeString(externalId);
+        externalIdOffsets[index] = externalIdOffset;
+        externalIdLengths[index] = externalIdOffset == ABSENT ? 0 : arenaSize - externalIdOffset;
+    }
+
+    public boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0 || removed.get(index)) {
+            return false;
+        }
+        removed.set(index);
+        return true;
+    }
+
+    public void clear() {
+        size = 0;
+        arenaSize = 0;
+        removed.clear();
+        brandDictionary.clear();
+        brandCodesByName.clear();
+    }
+
+    /**
+     * Relabels the brand in the dictionary. When {@code to} is already encoded, e.g. because the
+     * brand was renamed onto a name this store still remembers, the rows are moved to its code
+     * instead and the old code is left unused.
+     */
+    public void renameBrand(String from, String to) {
+        var code = brandCodesByName.remove(from);
+        if (code == null) {
+            return;
+        }
+        brandDictionary.set(code, to);
+        var targetCode = brandCodesByName.putIfAbsent(to, code);
+        if (targetCode != null) {
+            for (int i = 0; i < size; i++) {
+                if (brandCodes[i] == code) {
+                    brandCodes[i] = targetCode;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops removed rows and, when more than half of the arena is garbage, rewrites the arena.
+     */
+    public void compact() {
+        if (!removed.isEmpty()) {
+            int target = 0;
+            for (int source = 0; source < size; source++) {
+                if (!removed.get(source)) {
+                    moveRow(source, target++);
+                }
+            }
+            size = target;
+            removed.clear();
+        }
+        int liveBytes = 0;
+        for (int i = 0; i < size; i++) {
+            liveBytes += nameLengths[i] + externalIdLengths[i];
+        }
+        if (liveBytes < arenaSize / 2) {
+            var compacted = new byte[Math.max(INITIAL_CAPACITY, liveBytes * 2)];
+            int position = 0;
+            for (int i = 0; i < size; i++) {
+                position = relocate(compacted, position, nameOffsets, nameLengths, i);
+                position = relocate(compacted, position, externalIdOffsets, externalIdLengths, i);
+            }
+            arena = compacted;
+            arenaSize = position;
+        }
+    }
+
+    public DeviceDTO get(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        return index < 0 || removed.get(index) ? null : toDTO(index);
+    }
+
+    /**
+     * Devices in id order, skipping the first {@code offset} live rows.
+     */
+    public List<DeviceDTO> list(int offset, int limit) {
+        List<DeviceDTO> devices = new ArrayList<>(Math.min(limit, Math.max(0, size() - offset)));
+        int skipped = 0;
+        for (int i = 0; i < size && devices.size() < limit; i++) {
+            if (removed.get(i)) {
+                continue;
+            }
+            if (skipped++ >= offset) {
+                devices.add(toDTO(i));
+            }
+        }
+        return devices;
+    }
+
+    public List<DeviceDTO> findByBrand(String brand) {
+        var code = brandCodesByName.get(brand);
+        if (code == null) {
+            return List.of();
+        }
+        List<DeviceDTO> devices = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (brandCodes[i] == code && !removed.get(i)) {
+                devices.add(toDTO(i));
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * Approximate heap held by the columns and the arena, excluding the brand dictionary.
+     */
+    public long memoryBytes() {
+        return (long) ids.length * (Long.BYTES * 2 + Integer.BYTES * 5) + arena.length;
+    }
+
+    private DeviceDTO toDTO(int index) {
+        var dto = new DeviceDTO();
+        dto.setId(ids[index]);
+        dto.setName(readString(nameOffsets[index], nameLengths[index]));
+        dto.setBrand(brandDictionary.get(brandCodes[index]));
+        long time = creationTimes[index];
+        if (time != NO_TIME) {
+            dto.setCreationTime(LocalDateTime.ofEpochSecond(Math.floorDiv(time, NANOS_PER_SECOND),
+                    (int) Math.floorMod(time, NANOS_PER_SECOND), ZoneOffset.UTC));
+        }
+        dto.setExternalId(readString(externalIdOffsets[index], externalIdLengths[index]));
+        return dto;
+    }
+
+    private int encodeBrand(String brand) {
+        return brandCodesByName.computeIfAbsent(brand, name -> {
+            brandDictionary.add(name);
+            return brandDictionary.size() - 1;
+        });
+    }
+
+    private int writeString(String value) {
+        if (value == null) {
+            return ABSENT;
+        }
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (arenaSize + bytes.length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + bytes.length));
+        }
+        int offset = arenaSize;
+        System.arraycopy(bytes, 0, arena, offset, bytes.length);
+        arenaSize += bytes.length;
+        return offset;
+    }
+
+    private String readString(int offset, int length) {
+        return offset == ABSENT ? null : new String(arena, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private int relocate(byte[] target, int position, int[] offsets, int[] lengths, int index) {
+        if (offsets[index] == ABSENT) {
+            return position;
+        }
+        System.arraycopy(arena, offsets[index], target, position, lengths[index]);
+        offsets[index] = position;
+        return position + lengths[index];
+    }
+
+    private void insertRowAt(int index) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            brandCodes = Arrays.copyOf(brandCodes, capacity);
+            creationTimes = Arrays.copyOf(creationTimes, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+            externalIdOffsets = Arrays.copyOf(externalIdOffsets, capacity);
+            externalIdLengths = Arrays.copyOf(externalIdLengths, capacity);
+        }
+        int tail = size - index;
+        if (tail > 0) {
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(brandCodes, index, brandCodes, index + 1, tail);
+            System.arraycopy(creationTimes, index, creationTimes, index + 1, tail);
+            System.arraycopy(nameOffsets, index, nameOffsets, index + 1, tail);
+            System.arraycopy(nameLengths, index, nameLengths, index + 1, tail);
+            System.arraycopy(externalIdOffsets, index, externalIdOffsets, index + 1, tail);
+            System.arraycopy(externalIdLengths, index, externalIdLengths, index + 1, tail);
+            for (int i = removed.length() - 1; i >= index; i = removed.previousSetBit(i - 1)) {
+                removed.clear(i);
+                removed.set(i + 1);
+            }
+        }
+        size++;
+    }
+
+    private void moveRow(int source, int target) {
+        if (source == target) {
+            return;
+        }
+        ids[target] = ids[source];
+        brandCodes[target] = brandCodes[source];
+        creationTimes[target] = creationTimes[source];
+        nameOffsets[target] = nameOffsets[source];
+        nameLengths[target] = nameLengths[source];
+        externalIdOffsets[target] = externalIdOffsets[source];
+        externalIdLengths[target] = externalIdLengths[source];
+    }
+}
@@ -0,0 +1,42 @@
+package com.koss.devicemanager.util;
+
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over devices ordered by (creationTime, id): the position of the last
+ * device of the previous page, encoded as URL-safe Base64.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class CreationTimeCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime creationTime;
+    private final long id;
+
+    public String encode() {
+        var raw = creationTime.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CreationTimeCursor decode(String cursor) {
+        try {
+            var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestParameterException("cursor", "malformed cursor");
+            }
+            return new CreationTimeCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidRequestParameterException("cursor", "malformed cursor");
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.koss.devicemanager.util;
+
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Parses a comma separated {@code fields} parameter into the set of requested attributes.
+ */
+public final class FieldSelection {
+    private FieldSelection() {
+    }
+
+    public static <E extends Enum<E>> Set<E> parse(String fields, Class<E> type, Function<E, String> jsonName) {
+        Set<E> selected = EnumSet.noneOf(type);
+        for (String field : fields.split(",")) {
+            var name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(type.getEnumConstants())
+                    .filter(candidate -> jsonName.apply(candidate).equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestParameterException("fields", "unknown field '" + name + "'")));
+        }
+        if (selected.isEmpty()) {
+            throw new InvalidRequestParameterException("fields", "at least one field is required");
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,31 @@
+package com.koss.devicemanager.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fast non-cryptographic 64-bit hashes for in-memory structures such as {@link BloomFilter}.
+ */
+public final class Hashing {
+    private Hashing() {
+    }
+
+    /** FNV-1a over the UTF-8 bytes, then mixed so that values differing in one character land far apart. */
+    public static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /** Finalizer of MurmurHash3, spreads sequential keys such as database ids over the whole range. */
+    public static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb93fe1a85ec5L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
@@ -0,0 +1,36 @@
+package com.koss.devicemanager.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Caps how often a frequent log line is written. Lines within the budget are logged with the
+ * number of lines suppressed since the previous one, so volume stays visible in the log.
+ */
+public class LogSampler {
+    private final TokenBucket budget;
+    private final LongSupplier nanoClock;
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public LogSampler(double linesPerSecond, int burst) {
+        this(linesPerSecond, burst, System::nanoTime);
+    }
+
+    LogSampler(double linesPerSecond, int burst, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.budget = new TokenBucket(linesPerSecond, burst, nanoClock.getAsLong());
+    }
+
+    /**
+     * Runs {@code logLine} with the count of lines suppressed since the last logged one, or counts
+     * this line as suppressed when the budget is spent.
+     */
+    public void log(LongConsumer logLine) {
+        if (budget.tryAcquire(nanoClock.getAsLong()) == 0) {
+            logLine.accept(suppressed.getAndSet(0));
+        } else {
+            suppressed.incrementAndGet();
+        }
+    }
+}
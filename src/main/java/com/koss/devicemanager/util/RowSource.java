@@ -0,0 +1,13 @@
+package com.koss.devicemanager.util;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Rows handed over one at a time while they are read, e.g. from a request body, so that a caller
+ * can act on them without holding the whole payload in memory.
+ */
+@FunctionalInterface
+public interface RowSource<T> {
+    void forEachRow(Consumer<T> rowConsumer) throws IOException;
+}
@@ -0,0 +1,84 @@
+package com.koss.devicemanager.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache whose entries are stamped with the data version they were loaded at.
+ * {@link #invalidateAll()} only increments the version: entries with an older stamp are never
+ * served again and are replaced on their next load or evicted by size, so invalidation costs the
+ * same no matter how many entries are cached. {@link #invalidate(Object)} increments the version of
+ * the key's stripe, which also invalidates the few other keys sharing the stripe.
+ * <p>
+ * The versions are read before loading, so a load that overlaps an invalidation is stored with the
+ * old stamp and is not served afterwards. Eviction is Caffeine's, which keeps frequently requested
+ * keys over recently requested ones (W-TinyLFU).
+ */
+public class VersionedCache<K, V> {
+    private static final int STRIPES = 1024;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(STRIPES);
+    private final Cache<K, Stamped<V>> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public VersionedCache(long maxEntries) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    public V get(K key, Supplier<V> loader) {
+        int stripe = stripe(key);
+        long current = version.get();
+        long currentStripe = stripeVersions.get(stripe);
+        var entry = entries.getIfPresent(key);
+        if (entry != null && entry.version == current && entry.stripeVersion == currentStripe) {
+            hits.increment();
+            return entry.value;
+        }
+        misses.increment();
+        var value = loader.get();
+        entries.asMap().merge(key, new Stamped<>(current, currentStripe, value),
+                (existing, loaded) -> existing.isNewerThan(loaded) ? existing : loaded);
+        return value;
+    }
+
+    public void invalidate(K key) {
+        stripeVersions.incrementAndGet(stripe(key));
+        entries.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        version.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long size() {
+        return entries.estimatedSize();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private record Stamped<V>(long version, long stripeVersion, V value) {
+        boolean isNewerThan(Stamped<V> other) {
+            return version != other.version ? version > other.version : stripeVersion >= other.stripeVersion;
+        }
+    }
+}
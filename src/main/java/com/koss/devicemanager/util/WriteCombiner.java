@@ -0,0 +1,182 @@
+package com.koss.devicemanager.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Group commit for concurrent single-item writes. Callers queue their item and one of them, the
+ * leader, writes a batch of up to {@code maxBatchSize} queued items in one go while the others wait
+ * for their own result. Only one batch is written at a time, so items arriving during a write form
+ * the next batch. When the previous batch combined several writes, the leader additionally waits up
+ * to {@code window} for the batch to fill; a lone caller is written straight away.
+ * <p>
+ * Results are matched to callers by position. When a batch fails, its items are retried one by
+ * one with {@code singleWriter}, so every caller gets its own result or exception and one bad item
+ * only fails itself.
+ */
+public class WriteCombiner<T, R> {
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final Function<List<T>, List<R>> batchWriter;
+    private final Function<T, R> singleWriter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchFull = lock.newCondition();
+    private final Condition batchWritten = lock.newCondition();
+    private final Queue<Pending<T, R>> queue = new ArrayDeque<>();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private boolean writing;
+    private int lastBatchSize;
+
+    public WriteCombiner(int maxBatchSize, long window, TimeUnit unit,
+                         Function<List<T>, List<R>> batchWriter, Function<T, R> singleWriter) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = unit.toNanos(window);
+        this.batchWriter = batchWriter;
+        this.singleWriter = singleWriter;
+    }
+
+    public R submit(T item) {
+        var pending = new Pending<T, R>(item, new CompletableFuture<>());
+        lock.lock();
+        try {
+            queue.add(pending);
+            if (queue.size() >= maxBatchSize) {
+                batchFull.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        while (!pending.result.isDone()) {
+            var batch = takeBatchOrWait(pending);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                write(batch);
+            } finally {
+                // Only reached undone when the writer threw an Error; waiting callers must not hang.
+                batch.forEach(p -> p.result.completeExceptionally(new IllegalStateException("Batch write aborted")));
+                finishBatch(batch.size());
+            }
+        }
+        return await(pending.result);
+    }
+
+    /**
+     * Batches written so far.
+     */
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    /**
+     * Items written so far, across all batches.
+     */
+    public long getWrites() {
+        return writes.sum();
+    }
+
+    /**
+     * Either makes the caller the leader and hands it the next batch, or waits for the current
+     * batch to be written and returns an empty list.
+     */
+    private List<Pending<T, R>> takeBatchOrWait(Pending<T, R> pending) {
+        lock.lock();
+        try {
+            if (pending.result.isDone()) {
+                return List.of();
+            }
+            if (writing) {
+                batchWritten.awaitUninterruptibly();
+                return List.of();
+            }
+            writing = true;
+            if (lastBatchSize > 1) {
+                awaitBatch();
+            }
+            List<Pending<T, R>> batch = new ArrayList<>(Math.min(queue.size(), maxBatchSize));
+            while (batch.size() < maxBatchSize && !queue.isEmpty()) {
+                batch.add(queue.poll());
+            }
+            return batch;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitBatch() {
+        long remaining = windowNanos;
+        try {
+            while (queue.size() < maxBatchSize && remaining > 0) {
+                remaining = batchFull.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void finishBatch(int size) {
+        lock.lock();
+        try {
+            writing = false;
+            lastBatchSize = size;
+            batchWritten.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write(List<Pending<T, R>> batch) {
+        batches.increment();
+        writes.add(batch.size());
+        try {
+            var results = batchWriter.apply(batch.stream().map(Pending::item).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result.complete(results.get(i));
+            }
+        } catch (RuntimeException batchFailure) {
+            if (batch.size() == 1) {
+                batch.get(0).result.completeExceptionally(batchFailure);
+                return;
+            }
+            for (Pending<T, R> pending : batch) {
+                try {
+                    pending.result.complete(singleWriter.apply(pending.item));
+                } catch (RuntimeException e) {
+                    pending.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private static <R> R await(CompletableFuture<R> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Pending<T, R>(T item, CompletableFuture<R> result) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.koss.devicemanager.benchmark;
+
+import com.koss.devicemanager.util.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Overloads a simulated backend with a pool of 8 connections and 5ms service time from 64
+ * closed-loop clients, with and without the adaptive limit, and compares the p99 latency of
+ * served requests. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class ConcurrencyLimitBenchmarkTest {
+    private static final int CONNECTIONS = 8;
+    private static final int CLIENTS = 64;
+    private static final long SERVICE_MILLIS = 5;
+    private static final long RUN_MILLIS = 3_000;
+    private static final Logger log = LoggerFactory.getLogger(ConcurrencyLimitBenchmarkTest.class);
+
+    @Test
+    void testLimiterKeepsTailLatencyBounded() throws Exception {
+        long unlimited = run(null);
+        long limited = run(new AdaptiveConcurrencyLimit(20, 4, 200, 0.2, 1.5, 0.9));
+
+        assertTrue(limited < unlimited, "p99 with limit " + limited + "us, without " + unlimited + "us");
+    }
+
+    private static long run(AdaptiveConcurrencyLimit limit) throws Exception {
+        var pool = new Semaphore(CONNECTIONS, true);
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        var shed = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MILLIS);
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (limit != null && !limit.tryAcquire(1.0)) {
+                        shed.incrementAndGet();
+                        Thread.sleep(SERVICE_MILLIS);
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    pool.acquire();
+                    try {
+                        Thread.sleep(SERVICE_MILLIS);
+                    } finally {
+                        pool.release();
+                    }
+                    long latency = System.nanoTime() - start;
+                    latencies.add(latency);
+                    if (limit != null) {
+                        limit.release(latency, false);
+                    }
+                }
+                return null;
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(RUN_MILLIS * 2, TimeUnit.MILLISECONDS);
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        long p99 = TimeUnit.NANOSECONDS.toMicros(sorted.get((int) (sorted.size() * 0.99)));
+        log.info("{} served {} shed {} p99 {} us final limit {}", limit == null ? "unlimited" : "adaptive",
+                sorted.size(), shed.get(), p99, limit == null ? "-" : limit.getLimit());
+        return p99;
+    }
+}
@@ -0,0 +1,73 @@
+package com.koss.devicemanager.benchmark;
+
+import com.koss.devicemanager.controller.user.UserDeviceController;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.exception.DeviceNotFoundException;
+import com.koss.devicemanager.exception.GlobalExceptionHandler;
+import com.koss.devicemanager.service.DeviceService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Requests per second for GET /api/v1/user/devices/{id} answering 200 and 404, through the
+ * controller and exception handler with the service stubbed out. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class NotFoundBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(NotFoundBenchmarkTest.class);
+    private static final long FOUND_ID = 1L;
+    private static final long MISSING_ID = 2L;
+    private static final int WARMUP_REQUESTS = 20_000;
+    private static final int MEASURED_REQUESTS = 50_000;
+
+    private static MockMvc mockMvc;
+
+    @BeforeAll
+    static void setUp() {
+        var device = new DeviceDTO();
+        device.setId(FOUND_ID);
+        device.setName("Device");
+        device.setBrand("Brand");
+        DeviceService deviceService = mock(DeviceService.class, withSettings().stubOnly());
+        when(deviceService.findDeviceById(FOUND_ID)).thenReturn(device);
+        when(deviceService.findDeviceById(MISSING_ID)).thenAnswer(invocation -> {
+            throw new DeviceNotFoundException(MISSING_ID);
+        });
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserDeviceController(deviceService))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testNotFoundThroughputIsOnParWithFound() throws Exception {
+        measure(FOUND_ID, 200, WARMUP_REQUESTS);
+        measure(MISSING_ID, 404, WARMUP_REQUESTS);
+
+        double found = measure(FOUND_ID, 200, MEASURED_REQUESTS);
+        double missing = measure(MISSING_ID, 404, MEASURED_REQUESTS);
+        log.info("200: {} req/s, 404: {} req/s", Math.round(found), Math.round(missing));
+
+        assertTrue(missing >= found * 0.8, "404 throughput " + missing + " vs 200 throughput " + found);
+    }
+
+    private static double measure(long id, int expectedStatus, int requests) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int status = mockMvc.perform(get("/api/v1/user/devices/{id}", id)).andReturn().getResponse().getStatus();
+            assertEquals(expectedStatus, status);
+        }
+        return requests / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,96 @@
+package com.koss.devicemanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.response.ResponseWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes on the wire and serialization time of one page of 1k devices per format, and that every
+ * format reads back to the same content. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class SerializationBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(SerializationBenchmarkTest.class);
+    private static final int DEVICES = 1_000;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 500;
+
+    private static ResponseWrapper<List<DeviceDTO>> payload;
+
+    @BeforeAll
+    static void setUp() {
+        List<DeviceDTO> devices = new ArrayList<>(DEVICES);
+        var now = LocalDateTime.now();
+        for (int i = 0; i < DEVICES; i++) {
+            var device = new DeviceDTO();
+            device.setId((long) i);
+            device.setName("Device " + i);
+            device.setBrand("Brand " + (i % 25));
+            device.setCreationTime(now.minusMinutes(i));
+            devices.add(device);
+        }
+        payload = new ResponseWrapper<>(devices, "Successfully fetched devices", true, DEVICES);
+    }
+
+    @Test
+    void testBinaryFormatsRoundTripSmallerThanJson() throws IOException {
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        var json = measure("JSON", jsonMapper);
+        var cbor = measure("CBOR", Jackson2ObjectMapperBuilder.cbor().build());
+        var smile = measure("Smile", Jackson2ObjectMapperBuilder.smile().build());
+        byte[] gzippedJson = gzip(json.bytes());
+        log.info("JSON+gzip: {} bytes", gzippedJson.length);
+
+        var expected = jsonMapper.writeValueAsString(jsonMapper.readTree(json.bytes()));
+        assertEquals(DEVICES, jsonMapper.readTree(json.bytes()).get("data").size());
+        assertEquals(expected, jsonMapper.writeValueAsString(cbor.mapper().readTree(cbor.bytes())), "CBOR should read back to the JSON content");
+        assertEquals(expected, jsonMapper.writeValueAsString(smile.mapper().readTree(smile.bytes())), "Smile should read back to the JSON content");
+
+        assertTrue(cbor.bytes().length < json.bytes().length, "CBOR should be smaller than JSON");
+        assertTrue(smile.bytes().length < json.bytes().length, "Smile should be smaller than JSON");
+        assertTrue(gzippedJson.length < json.bytes().length, "gzip should shrink JSON");
+        assertTrue(cbor.micros() < json.micros() * 2, "CBOR took " + cbor.micros() + " us vs " + json.micros() + " us for JSON");
+        assertTrue(smile.micros() < json.micros() * 2, "Smile took " + smile.micros() + " us vs " + json.micros() + " us for JSON");
+    }
+
+    private static Measurement measure(String format, ObjectMapper mapper) throws IOException {
+        byte[] bytes = null;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bytes = mapper.writeValueAsBytes(payload);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            bytes = mapper.writeValueAsBytes(payload);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+        log.info("{}: {} bytes, {} us per {} devices", format, bytes.length, Math.round(micros), DEVICES);
+        return new Measurement(mapper, bytes, micros);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private record Measurement(ObjectMapper mapper, byte[] bytes, double micros) {
+    }
+}
@@ -1,28 +1,47 @@
 package com.koss.devicemanager.controller.admin;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.dto.BatchItemOutcome;
+import com.koss.devicemanager.dto.BatchItemResultDTO;
+import com.koss.devicemanager.dto.BatchOperationResultDTO;
+import com.koss.devicemanager.dto.BulkImportJobDTO;
+import com.koss.devicemanager.dto.BulkImportJobStatus;
+import com.koss.devicemanager.dto.BulkUpsertResultDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DevicePatchDTO;
+import com.koss.devicemanager.exception.BulkImportJobNotFoundException;
+import com.koss.devicemanager.exception.GlobalExceptionHandler;
+import com.koss.devicemanager.exception.TooManyBulkImportJobsException;
+import com.koss.devicemanager.service.BulkImportJobService;
 import com.koss.devicemanager.service.DeviceService;
+import com.koss.devicemanager.util.BulkPayloadReader;
+import com.koss.devicemanager.util.RowSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(AdminDeviceController.class)
+@WebMvcTest(controllers = {AdminDeviceController.class, GlobalExceptionHandler.class})
+@Import(BulkPayloadReader.class)
 class AdminDeviceControllerTest {
 
     @Autowired
@@ -31,6 +50,9 @@ class AdminDeviceControllerTest {
     @MockBean
     private DeviceService deviceService;
 
+    @MockBean
+    private BulkImportJobService bulkImportJobService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -47,6 +69,19 @@ class AdminDeviceControllerTest {
         return objectMapper.writeValueAsString(object);
     }
 
+    /**
+     * Stubs the streaming save to read the payload as the service would, collecting the rows it is handed.
+     */
+    private List<DeviceDTO> streamedDevices() throws Exception {
+        List<DeviceDTO> streamed = new ArrayList<>();
+        Mockito.when(deviceService.saveAllDevicesStreaming(Mockito.any())).thenAnswer(invocation -> {
+            RowSource<DeviceDTO> devices = invocation.getArgument(0);
+            devices.forEachRow(streamed::add);
+            return streamed;
+        });
+        return streamed;
+    }
+
     @Test
     void testGetAllDevicesSuccess() throws Exception {
         List<DeviceDTO> devices = Collections.singletonList(deviceDTO);
@@ -64,7 +99,7 @@ class AdminDeviceControllerTest {
     @Test
     void testSaveAllDevicesSuccess() throws Exception {
         List<DeviceDTO> devices = Collections.singletonList(deviceDTO);
-        Mockito.when(deviceService.saveAllDevices(Mockito.anyList())).thenReturn(devices);
+        var streamed = streamedDevices();
 
         mockMvc.perform(post("/api/v1/admin/devices/bulk")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -74,6 +109,55 @@ class AdminDeviceControllerTest {
                 .andExpect(jsonPath("$.data[0].name", is("Device1")))
                 .andExpect(jsonPath("$.data[0].brand", is("Brand1")))
                 .andExpect(jsonPath("$.message", is("All devices created")));
+
+        assertEquals(1, streamed.size());
+        Mockito.verify(deviceService, Mockito.never()).saveAllDevices(Mockito.anyList());
+    }
+
+    @Test
+    void testSaveAllDevicesRejectsUnsupportedContentType() throws Exception {
+        var streamed = streamedDevices();
+
+        mockMvc.perform(post("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(toJson(List.of(deviceDTO))))
+                .andExpect(status().isUnsupportedMediaType())
+                .andExpect(jsonPath("$.success", is(false)));
+
+        assertEquals(0, streamed.size());
+    }
+
+    @Test
+    void testSaveAllDevicesInParallelSuccess() throws Exception {
+        List<DeviceDTO> devices = Collections.singletonList(deviceDTO);
+        Mockito.when(deviceService.saveAllDevicesInParallel(Mockito.anyList())).thenReturn(devices);
+
+        mockMvc.perform(post("/api/v1/admin/devices/bulk")
+                        .param("parallel", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(devices)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+
+        Mockito.verify(deviceService).saveAllDevicesInParallel(Mockito.anyList());
+        Mockito.verify(deviceService, Mockito.never()).saveAllDevicesStreaming(Mockito.any());
+    }
+
+    @Test
+    void testUpsertAllDevicesSuccess() throws Exception {
+        List<DeviceDTO> devices = Collections.singletonList(deviceDTO);
+        Mockito.when(deviceService.upsertAllDevices(Mockito.anyList()))
+                .thenReturn(new BulkUpsertResultDTO(0, 0, 1, List.of()));
+
+        mockMvc.perform(put("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(devices)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.unchanged", is(1)))
+                .andExpect(jsonPath("$.data.inserted", is(0)))
+                .andExpect(jsonPath("$.message", is("Devices synchronized")));
     }
 
     @Test
@@ -85,4 +169,137 @@ class AdminDeviceControllerTest {
 
         Mockito.verify(deviceService).deleteAllDevices();
     }
+
+    @Test
+    void testPatchDevicesSuccess() throws Exception {
+        var result = new BatchOperationResultDTO(1, 0, 1, List.of(
+                new BatchItemResultDTO(1L, BatchItemOutcome.UPDATED),
+                new BatchItemResultDTO(2L, BatchItemOutcome.NOT_FOUND)));
+        Mockito.when(deviceService.patchDevices(Mockito.anyList())).thenReturn(result);
+
+        mockMvc.perform(patch("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(List.of(new DevicePatchDTO(1L, "Renamed", null), new DevicePatchDTO(2L, null, "Brand2")))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message", is("Devices patched")))
+                .andExpect(jsonPath("$.data.affected", is(1)))
+                .andExpect(jsonPath("$.data.items[1].outcome", is("NOT_FOUND")))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+    }
+
+    @Test
+    void testPatchDevicesValidationFailsWithoutId() throws Exception {
+        mockMvc.perform(patch("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(List.of(new DevicePatchDTO(null, "Renamed", null)))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void testSaveAllDevicesReportsInvalidRowsByIndex() throws Exception {
+        var invalid = new DeviceDTO();
+        invalid.setName("Device2");
+        var streamed = streamedDevices();
+
+        mockMvc.perform(post("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(List.of(deviceDTO, invalid))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.message", is("Validation failed with 1 error(s)")))
+                .andExpect(jsonPath("$.data[0].rowIndex", is(1)))
+                .andExpect(jsonPath("$.data[0].field", is("brand")))
+                .andExpect(jsonPath("$.data[0].message", is("Brand is required")));
+
+        assertEquals(1, streamed.size());
+    }
+
+    @Test
+    void testDeleteDevicesByIdsSuccess() throws Exception {
+        var result = new BatchOperationResultDTO(1, 0, 0, List.of(new BatchItemResultDTO(1L, BatchItemOutcome.DELETED)));
+        Mockito.when(deviceService.deleteDevicesByIds(List.of(1L))).thenReturn(result);
+
+        mockMvc.perform(delete("/api/v1/admin/devices/bulk/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].outcome", is("DELETED")));
+    }
+
+    @Test
+    void testDeleteDevicesByIdsRejectsEmptyList() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/devices/bulk/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code", is(400)));
+    }
+
+    @Test
+    void testDeleteDevicesByBrandSuccess() throws Exception {
+        var result = new BatchOperationResultDTO(2, 0, 0, List.of(
+                new BatchItemResultDTO(1L, BatchItemOutcome.DELETED),
+                new BatchItemResultDTO(2L, BatchItemOutcome.DELETED)));
+        Mockito.when(deviceService.deleteDevicesByBrand("Brand1")).thenReturn(result);
+
+        mockMvc.perform(delete("/api/v1/admin/devices/bulk/brands/Brand1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.affected", is(2)))
+                .andExpect(jsonPath("$.totalElements", is(2)));
+    }
+
+    @Test
+    void testSubmitBulkImportJobAccepted() throws Exception {
+        var job = new BulkImportJobDTO();
+        job.setId("job-1");
+        job.setStatus(BulkImportJobStatus.QUEUED);
+        job.setTotalRows(1);
+        Mockito.when(bulkImportJobService.submit(Mockito.anyList())).thenReturn(job);
+
+        mockMvc.perform(post("/api/v1/admin/devices/bulk/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(List.of(deviceDTO))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.id", is("job-1")))
+                .andExpect(jsonPath("$.data.status", is("QUEUED")))
+                .andExpect(jsonPath("$.message", is("Bulk import job submitted")));
+    }
+
+    @Test
+    void testSubmitBulkImportJobRejectedWhenCapReached() throws Exception {
+        Mockito.when(bulkImportJobService.submit(Mockito.anyList()))
+                .thenThrow(new TooManyBulkImportJobsException(2));
+
+        mockMvc.perform(post("/api/v1/admin/devices/bulk/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(toJson(List.of(deviceDTO))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.success", is(false)))
+                .andExpect(jsonPath("$.code", is(429)));
+    }
+
+    @Test
+    void testGetBulkImportJobNotFound() throws Exception {
+        Mockito.when(bulkImportJobService.getJob("missing"))
+                .thenThrow(new BulkImportJobNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/v1/admin/devices/bulk/jobs/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", is("Bulk import job with id missing not found")));
+    }
+
+    @Test
+    void testCancelBulkImportJobSuccess() throws Exception {
+        var job = new BulkImportJobDTO();
+        job.setId("job-1");
+        job.setStatus(BulkImportJobStatus.RUNNING);
+        Mockito.when(bulkImportJobService.cancelJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(delete("/api/v1/admin/devices/bulk/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.message", is("Bulk import job cancellation requested")));
+    }
 }
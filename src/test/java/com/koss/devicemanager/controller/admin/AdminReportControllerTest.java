@@ -0,0 +1,81 @@
+package com.koss.devicemanager.controller.admin;
+
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.exception.GlobalExceptionHandler;
+import com.koss.devicemanager.service.DeviceCreationRollupService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {AdminReportController.class, GlobalExceptionHandler.class})
+class AdminReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeviceCreationRollupService rollupService;
+
+    @Test
+    void testGetDeviceCreationsSuccess() throws Exception {
+        var from = LocalDateTime.of(2024, 3, 1, 0, 0);
+        var to = LocalDateTime.of(2024, 3, 2, 0, 0);
+        Mockito.when(rollupService.getCreationCounts(RollupGranularity.HOUR, from, to, "Brand1"))
+                .thenReturn(List.of(new DeviceCreationBucketDTO("Brand1", from.plusHours(3), 12)));
+
+        mockMvc.perform(get("/api/v1/admin/reports/device-creations")
+                        .param("from", "2024-03-01T00:00:00")
+                        .param("to", "2024-03-02T00:00:00")
+                        .param("brand", "Brand1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data[0].brand", is("Brand1")))
+                .andExpect(jsonPath("$.data[0].bucketStart", is("2024-03-01T03:00:00")))
+                .andExpect(jsonPath("$.data[0].count", is(12)))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void testGetDeviceCreationsRejectsTooManyBuckets() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/reports/device-creations")
+                        .param("granularity", "MINUTE")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(rollupService);
+    }
+
+    @Test
+    void testGetDeviceCreationsRejectsUnknownGranularity() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/reports/device-creations")
+                        .param("granularity", "WEEK")
+                        .param("from", "2024-01-01T00:00:00")
+                        .param("to", "2024-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testRebuildDeviceCreationsSuccess() throws Exception {
+        Mockito.when(rollupService.rebuild()).thenReturn(42L);
+
+        mockMvc.perform(post("/api/v1/admin/reports/device-creations/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", is(42)))
+                .andExpect(jsonPath("$.message", is("Device creation rollups rebuilt from 42 devices")));
+    }
+}
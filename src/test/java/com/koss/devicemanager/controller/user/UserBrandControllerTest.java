@@ -1,6 +1,7 @@
 package com.koss.devicemanager.controller.user;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.BrandField;
 import com.koss.devicemanager.service.BrandService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.EnumSet;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.doNothing;
@@ -56,6 +58,30 @@ class UserBrandControllerTest {
                 .andExpect(jsonPath("$.message", is("Successfully fetched brands")));
     }
 
+    @Test
+    void testGetAllBrandsWithFieldsSuccess() throws Exception {
+        BrandDTO nameOnly = new BrandDTO();
+        nameOnly.setName("Brand1");
+        when(brandService.findAllBrands(EnumSet.of(BrandField.NAME))).thenReturn(Collections.singletonList(nameOnly));
+
+        mockMvc.perform(get("/api/v1/user/brands").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Brand1")))
+                .andExpect(jsonPath("$.data[0].id").doesNotExist());
+    }
+
+    @Test
+    void testGetAllBrandsWithDeviceCountSuccess() throws Exception {
+        brandDTO.setDeviceCount(3L);
+        when(brandService.findAllBrandsWithDeviceCount()).thenReturn(Collections.singletonList(brandDTO));
+
+        mockMvc.perform(get("/api/v1/user/brands/device-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Brand1")))
+                .andExpect(jsonPath("$.data[0].deviceCount", is(3)))
+                .andExpect(jsonPath("$.message", is("Successfully fetched brands with device counts")));
+    }
+
     @Test
     void testAddBrandSuccess() throws Exception {
         when(brandService.addBrand(Mockito.any(BrandDTO.class))).thenReturn(brandDTO);
@@ -0,0 +1,78 @@
+package com.koss.devicemanager.controller.user;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeFeedPageDTO;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.exception.GlobalExceptionHandler;
+import com.koss.devicemanager.service.ChangeFeedService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class UserChangeFeedControllerTest {
+    private MockMvc mockMvc;
+
+    @Mock
+    private ChangeFeedService changeFeedService;
+
+    @InjectMocks
+    private UserChangeFeedController userChangeFeedController;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(userChangeFeedController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void testGetChangesSuccess() throws Exception {
+        var change = new CatalogChangeDTO(6L, ChangeEntityType.DEVICE, ChangeType.DELETED, 3L, null, "Brand1", null, null, null, null);
+        when(changeFeedService.getChanges(5, 500)).thenReturn(new ChangeFeedPageDTO(List.of(change), 6, false));
+
+        mockMvc.perform(get("/api/v1/user/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.changes[0].sequence", is(6)))
+                .andExpect(jsonPath("$.data.changes[0].changeType", is("DELETED")))
+                .andExpect(jsonPath("$.data.lastSequence", is(6)))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
+    @Test
+    void testGetChangesRejectsNegativeSequence() throws Exception {
+        mockMvc.perform(get("/api/v1/user/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(changeFeedService);
+    }
+
+    @Test
+    void testStreamPrefersLastEventIdOverSince() throws Exception {
+        when(changeFeedService.subscribe(42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/user/changes/stream")
+                        .param("since", "1")
+                        .header("Last-Event-ID", "42"))
+                .andExpect(request().asyncStarted());
+
+        verify(changeFeedService).subscribe(42L);
+    }
+}
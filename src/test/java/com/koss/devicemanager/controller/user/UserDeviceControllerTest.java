@@ -1,6 +1,10 @@
 package com.koss.devicemanager.controller.user;
 
+import com.koss.devicemanager.dto.CursorPageDTO;
+import com.koss.devicemanager.dto.DeviceBatchDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.exception.GlobalExceptionHandler;
 import com.koss.devicemanager.service.DeviceService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,11 +18,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -44,7 +51,9 @@ class UserDeviceControllerTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        mockMvc = MockMvcBuilders.standaloneSetup(userDeviceController).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(userDeviceController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
 
         deviceDTO = new DeviceDTO();
         deviceDTO.setId(1L);
@@ -63,6 +72,19 @@ class UserDeviceControllerTest {
                 .andExpect(jsonPath("$.message", is("Device retrieved successfully")));
     }
 
+    @Test
+    void testGetDevicesByIdsSuccess() throws Exception {
+        when(deviceService.findDevicesByIds(List.of(1L, 7L)))
+                .thenReturn(new DeviceBatchDTO(List.of(deviceDTO), List.of(7L)));
+
+        mockMvc.perform(get("/api/v1/user/devices/batch").param("ids", "1,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.devices[0].name", is("Device1")))
+                .andExpect(jsonPath("$.data.missingIds[0]", is(7)))
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+
     @Test
     void testGetDevicesByBrandSuccess() throws Exception {
         when(deviceService.findDevicesByBrand("Brand1")).thenReturn(List.of(deviceDTO));
@@ -93,6 +115,71 @@ class UserDeviceControllerTest {
                 .andExpect(jsonPath("$.message", is("Successfully fetched devices")));
     }
 
+    @Test
+    void testListDevicesWithFieldsSuccess() throws Exception {
+        PageRequest pageable = PageRequest.of(0, 50);
+        DeviceDTO projected = new DeviceDTO();
+        projected.setId(1L);
+        projected.setName("Device1");
+        Page<DeviceDTO> pagedDevices = new PageImpl<>(List.of(projected), pageable, 1);
+
+        when(deviceService.getPaginatedDevices(pageable, EnumSet.of(DeviceField.ID, DeviceField.NAME)))
+                .thenReturn(pagedDevices);
+
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("fields", "id, name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Device1")))
+                .andExpect(jsonPath("$.data[0].brand").doesNotExist())
+                .andExpect(jsonPath("$.data[0].creationTime").doesNotExist());
+    }
+
+    @Test
+    void testListDevicesByCreationTimeSuccess() throws Exception {
+        var from = LocalDateTime.of(2024, 3, 1, 12, 0);
+        var to = LocalDateTime.of(2024, 3, 1, 13, 0);
+        when(deviceService.findDevicesByCreationTime(from, to, "Brand1", null, 10))
+                .thenReturn(new CursorPageDTO<>(List.of(deviceDTO), "next"));
+
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T12:00:00")
+                        .param("to", "2024-03-01T13:00:00")
+                        .param("brand", "Brand1")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Device1")))
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void testListDevicesByBrandWithoutMatchesOmitsNextCursor() throws Exception {
+        when(deviceService.findDevicesByCreationTime(null, null, "Brand1", null, 50))
+                .thenReturn(new CursorPageDTO<>(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/user/devices").param("brand", "Brand1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testListDevicesByCreationTimeRejectsEmptyRange() throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T13:00:00")
+                        .param("to", "2024-03-01T12:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(deviceService);
+    }
+
+    @Test
+    void testListDevicesByCreationTimeRejectsMalformedDate() throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices").param("from", "yesterday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Invalid value for parameter 'from': yesterday")));
+    }
+
     @Test
     void testAddDeviceSuccess() throws Exception {
         when(deviceService.addDevice(Mockito.any(DeviceDTO.class))).thenReturn(deviceDTO);
@@ -14,6 +14,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,6 +43,26 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("Entity not found"));
     }
 
+    @Test
+    void testHandleResourceNotFoundException() throws Exception {
+        long deviceId = 1L;
+        when(deviceService.findDeviceById(deviceId))
+                .thenThrow(new DeviceNotFoundException(deviceId));
+
+        mockMvc.perform(get("/api/v1/user/devices/{id}", deviceId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.code").value(404))
+                .andExpect(jsonPath("$.message").value("Device with id 1 not found"));
+    }
+
+    @Test
+    void testNotFoundAndParameterExceptionsCarryNoStackTrace() {
+        assertEquals(0, new DeviceNotFoundException(1L).getStackTrace().length);
+        assertEquals(0, new BrandNotFoundException(1L).getStackTrace().length);
+        assertEquals(0, new InvalidRequestParameterException("limit", "must be positive").getStackTrace().length);
+    }
+
     @Test
     void testHandleValidationException() throws Exception {
         DeviceDTO invalidDeviceDTO = new DeviceDTO();
@@ -65,6 +86,15 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.data.brand").value("Brand is required"));
     }
 
+    @Test
+    void testHandleInvalidRequestParameterException() throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices").param("fields", "id,serialNumber"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid value for parameter 'fields': unknown field 'serialNumber'"));
+    }
+
     @Test
     void testHandleRuntimeException() throws Exception {
         long deviceId = 1L;
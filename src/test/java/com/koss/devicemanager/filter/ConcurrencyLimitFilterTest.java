@@ -0,0 +1,108 @@
+package com.koss.devicemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.koss.devicemanager.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConcurrencyLimitFilterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimit limit;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limit = new AdaptiveConcurrencyLimit(10, 2, 100, 0.2, 1.5, 0.5);
+        filter = new ConcurrencyLimitFilter(limit, new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    private MockHttpServletResponse call(String method, String path) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response;
+    }
+
+    private void occupy(int requests) {
+        for (int i = 0; i < requests; i++) {
+            limit.tryAcquire(1.0);
+        }
+    }
+
+    @Test
+    void testPriorityOfRequestClasses() {
+        assertEquals(ConcurrencyLimitFilter.Priority.WRITE,
+                ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("DELETE", "/api/v1/admin/devices/bulk")));
+        assertEquals(ConcurrencyLimitFilter.Priority.USER_READ,
+                ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("GET", "/api/v1/user/devices")));
+        assertEquals(ConcurrencyLimitFilter.Priority.ADMIN_READ,
+                ConcurrencyLimitFilter.priorityOf(new MockHttpServletRequest("GET", "/api/v1/admin/devices")));
+    }
+
+    @Test
+    void testLatencyClassIsTheMappedRoute() {
+        var request = new MockHttpServletRequest("GET", "/api/v1/user/devices/42");
+        assertEquals("GET unmapped", ConcurrencyLimitFilter.latencyClassOf(request));
+
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/user/devices/{id}");
+        assertEquals("GET /api/v1/user/devices/{id}", ConcurrencyLimitFilter.latencyClassOf(request));
+    }
+
+    @Test
+    void testShedsLowerPrioritiesFirst() throws Exception {
+        occupy(5);
+
+        var adminRead = call("GET", "/api/v1/admin/devices");
+        assertEquals(503, adminRead.getStatus());
+        assertEquals("1", adminRead.getHeader("Retry-After"));
+        assertEquals(200, call("GET", "/api/v1/user/devices").getStatus());
+
+        occupy(4);
+        assertEquals(503, call("GET", "/api/v1/user/devices").getStatus());
+        assertEquals(200, call("POST", "/api/v1/user/devices").getStatus());
+        assertEquals(1, meterRegistry.get("device_manager.concurrency_limit.shed").tag("priority", "admin_read").counter().count());
+    }
+
+    @Test
+    void testReleasesSlotAndBacksOffWhenRequestFails() throws Exception {
+        var failing = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                ((HttpServletResponse) response).setStatus(500);
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/user/devices"), new MockHttpServletResponse(), failing);
+
+        assertEquals(0, limit.getInFlight());
+        assertEquals(5, limit.getLimit());
+    }
+
+    @Test
+    void testReleasesSlotWhenChainThrows() {
+        var throwing = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                throw new IllegalStateException("boom");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/user/devices"), new MockHttpServletResponse(), throwing));
+        assertEquals(0, limit.getInFlight());
+    }
+}
@@ -0,0 +1,89 @@
+package com.koss.devicemanager.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RateLimitFilterTest {
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(Map.of(
+                RateLimitFilter.Tier.USER, new RateLimitFilter.Budget(10, 2),
+                RateLimitFilter.Tier.ADMIN, new RateLimitFilter.Budget(1, 1)),
+                100, new ObjectMapper(), meterRegistry, clock::get);
+    }
+
+    private MockHttpServletResponse call(String path, String remoteAddress, String apiKey) throws Exception {
+        var request = new MockHttpServletRequest("GET", path);
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private double requests(String tier, String outcome) {
+        return meterRegistry.get("device_manager.rate_limit.requests").tag("tier", tier).tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testRejectsWith429AndRetryAfterOnceBudgetIsSpent() throws Exception {
+        assertEquals(200, call("/api/v1/admin/devices", "10.0.0.1", null).getStatus());
+
+        var rejected = call("/api/v1/admin/devices", "10.0.0.1", null);
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertThat(rejected.getContentAsString(), containsString("\"code\":429"));
+        assertEquals(1, requests("admin", "allowed"));
+        assertEquals(1, requests("admin", "throttled"));
+    }
+
+    @Test
+    void testKeepsSeparateBudgetsPerTierAndClient() throws Exception {
+        assertEquals(200, call("/api/v1/admin/devices", "10.0.0.1", null).getStatus());
+        assertEquals(429, call("/api/v1/admin/devices", "10.0.0.1", null).getStatus());
+
+        assertEquals(200, call("/api/v1/user/devices", "10.0.0.1", null).getStatus());
+        assertEquals(200, call("/api/v1/admin/devices", "10.0.0.2", null).getStatus());
+    }
+
+    @Test
+    void testIgnoresApiKeysWhenIdentifyingClients() throws Exception {
+        assertEquals(200, call("/api/v1/admin/devices", "10.0.0.1", "key-1").getStatus());
+
+        assertEquals(429, call("/api/v1/admin/devices", "10.0.0.1", "key-2").getStatus());
+        assertEquals(429, call("/api/v1/admin/devices", "10.0.0.1", null).getStatus());
+        assertEquals(1, meterRegistry.get("device_manager.rate_limit.clients").gauge().value());
+    }
+
+    @Test
+    void testAllowsAgainAfterRefill() throws Exception {
+        call("/api/v1/user/devices", "10.0.0.1", null);
+        call("/api/v1/user/devices", "10.0.0.1", null);
+        assertEquals(429, call("/api/v1/user/devices", "10.0.0.1", null).getStatus());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(200, call("/api/v1/user/devices", "10.0.0.1", null).getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package com.koss.devicemanager.integration;
+
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.BrandRepositoryCustom;
+import com.koss.devicemanager.repository.ChangeLogRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.DeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BrandConcurrencyIntegrationTest {
+    private static final int THREADS = 16;
+    private static final String BRAND = "Concurrent Brand";
+
+    @Autowired
+    private DeviceService deviceService;
+    @Autowired
+    private DeviceRepository deviceRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        deviceRepository.deleteAll();
+        brandRepository.findByName(BRAND).ifPresent(brandRepository::delete);
+    }
+
+    @Test
+    void testConcurrentDevicesForNewBrandCreateItOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DeviceDTO>> results = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            var device = new DeviceDTO();
+            device.setName("Device " + i);
+            device.setBrand(BRAND);
+            results.add(executor.submit(() -> {
+                start.await();
+                return deviceService.addDevice(device);
+            }));
+        }
+        start.countDown();
+
+        for (Future<DeviceDTO> result : results) {
+            assertEquals(BRAND, result.get(30, TimeUnit.SECONDS).getBrand());
+        }
+        executor.shutdown();
+
+        long brandRows = brandRepository.findAll().stream().filter(b -> BRAND.equals(b.getName())).count();
+        assertEquals(1, brandRows);
+        assertEquals(THREADS, deviceRepository.findByBrandName(BRAND).size());
+        long brandCreations = changeLogRepository.findAll().stream()
+                .filter(entry -> entry.getEntityType() == ChangeEntityType.BRAND && entry.getChangeType() == ChangeType.CREATED
+                        && BRAND.equals(entry.getName()))
+                .count();
+        assertEquals(1, brandCreations);
+    }
+
+    @Test
+    void testInsertIfAbsentReportsExistingBrandAsNotInserted() {
+        var transaction = new TransactionTemplate(transactionManager);
+        BrandRepositoryCustom.InsertResult first = transaction.execute(status -> brandRepository.insertIfAbsent(BRAND));
+        BrandRepositoryCustom.InsertResult second = transaction.execute(status -> brandRepository.insertIfAbsent(BRAND));
+
+        assertTrue(first.inserted());
+        assertNotNull(first.id());
+        assertFalse(second.inserted());
+        assertEquals(1, brandRepository.findAll().stream().filter(b -> BRAND.equals(b.getName())).count());
+    }
+}
@@ -0,0 +1,80 @@
+package com.koss.devicemanager.integration;
+
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.impl.CacheInvalidationRelay;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Plays the other instance by writing to the database directly, bypassing this instance's events.
+ * Polling is left to the test.
+ */
+@SpringBootTest(properties = {
+        "device-manager.cache-invalidation.enabled=true",
+        "device-manager.page-cache.enabled=true",
+        "device-manager.cache-invalidation.poll-interval=PT1H"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CacheInvalidationIntegrationTest {
+    private static final String BRAND = "Invalidation Brand";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private CacheInvalidationRelay relay;
+    @Autowired
+    private DeviceRepository deviceRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        deviceRepository.deleteAll();
+        brandRepository.findByName(BRAND).ifPresent(brandRepository::delete);
+    }
+
+    private void expectListedName(String name) throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("offset", "0")
+                        .param("limit", "50")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is(name)));
+    }
+
+    @Test
+    void testWriteOnAnotherInstanceEvictsCachedPagesOnNextPoll() throws Exception {
+        var brand = brandRepository.save(new Brand(null, BRAND));
+        var device = deviceRepository.save(new Device(null, "Before", brand, LocalDateTime.now(), null));
+        relay.poll();
+        expectListedName("Before");
+
+        jdbcTemplate.update("UPDATE device SET name = ? WHERE id = ?", "After", device.getId());
+        jdbcTemplate.update("INSERT INTO cache_invalidation (entity_type, entity_id, origin_node, created_at) VALUES (?, ?, ?, ?)",
+                "DEVICE", device.getId(), "other-node", LocalDateTime.now());
+        expectListedName("Before");
+
+        relay.poll();
+        expectListedName("After");
+    }
+}
@@ -0,0 +1,87 @@
+package com.koss.devicemanager.integration;
+
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.ChangeFeedService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class ChangeFeedIntegrationTest {
+    private static final String BRAND = "Feed Brand";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ChangeFeedService changeFeedService;
+    @Autowired
+    private DeviceRepository deviceRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @AfterEach
+    void tearDown() {
+        deviceRepository.deleteAll();
+        brandRepository.findByName(BRAND).ifPresent(brandRepository::delete);
+    }
+
+    @Test
+    void testCommittedWritesAppearInPollAndStream() throws Exception {
+        long since = changeFeedService.currentSequence();
+
+        mockMvc.perform(post("/api/v1/user/devices")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Feed Device\", \"brand\": \"" + BRAND + "\"}"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/v1/user/changes").param("since", String.valueOf(since)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.resyncRequired", is(false)))
+                .andExpect(jsonPath("$.data.changes[0].entityType", is("BRAND")))
+                .andExpect(jsonPath("$.data.changes[0].name", is(BRAND)))
+                .andExpect(jsonPath("$.data.changes[1].entityType", is("DEVICE")))
+                .andExpect(jsonPath("$.data.changes[1].changeType", is("CREATED")))
+                .andExpect(jsonPath("$.data.changes[1].sequence", is((int) since + 2)));
+
+        MvcResult stream = mockMvc.perform(get("/api/v1/user/changes/stream")
+                        .header("Last-Event-ID", since + 1)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // The backlog is replayed on the feed thread after the request thread returns
+        long deadline = System.currentTimeMillis() + 5_000;
+        String body = stream.getResponse().getContentAsString();
+        while (!body.contains("Feed Device") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            body = stream.getResponse().getContentAsString();
+        }
+        assertTrue(body.contains("id:" + (since + 2)), body);
+        assertTrue(body.contains("\"name\":\"Feed Device\""), body);
+    }
+
+    @Test
+    void testRejectsOversizedLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/user/changes").param("limit", "5000"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("limit")));
+    }
+}
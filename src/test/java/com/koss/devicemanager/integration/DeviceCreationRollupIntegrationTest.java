@@ -0,0 +1,109 @@
+package com.koss.devicemanager.integration;
+
+import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.DeviceCreationBucketDTO;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.BrandService;
+import com.koss.devicemanager.service.DeviceCreationRollupService;
+import com.koss.devicemanager.service.DeviceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class DeviceCreationRollupIntegrationTest {
+    private static final String BRAND = "Rollup Brand";
+    private static final String OLD_BRAND = "Rollup Brand Old";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private DeviceService deviceService;
+    @Autowired
+    private DeviceRepository deviceRepository;
+    @Autowired
+    private BrandRepository brandRepository;
+    @Autowired
+    private BrandService brandService;
+    @Autowired
+    private DeviceCreationRollupService rollupService;
+
+    @AfterEach
+    void tearDown() {
+        for (String brand : List.of(BRAND, OLD_BRAND)) {
+            deviceService.deleteDevicesByBrand(brand);
+            brandRepository.findByName(brand).ifPresent(brandRepository::delete);
+        }
+    }
+
+    private DeviceDTO device(String name) {
+        return device(name, BRAND);
+    }
+
+    private DeviceDTO device(String name, String brand) {
+        var device = new DeviceDTO();
+        device.setName(name);
+        device.setBrand(brand);
+        return device;
+    }
+
+    private long countToday(String brand) {
+        var today = LocalDate.now();
+        return rollupService.getCreationCounts(RollupGranularity.DAY, today.atStartOfDay(), today.plusDays(1).atStartOfDay(), brand)
+                .stream().mapToLong(DeviceCreationBucketDTO::getCount).sum();
+    }
+
+    @Test
+    void testCountsFollowCommittedInsertsAndDeletes() throws Exception {
+        var saved = deviceService.saveAllDevices(List.of(device("Rollup 1"), device("Rollup 2"), device("Rollup 3")));
+        deviceService.deleteDevicesByIds(List.of(saved.get(0).getId()));
+
+        var today = LocalDate.now();
+        mockMvc.perform(get("/api/v1/admin/reports/device-creations")
+                        .param("granularity", "DAY")
+                        .param("from", today.atStartOfDay().toString())
+                        .param("to", today.plusDays(1).atStartOfDay().toString())
+                        .param("brand", BRAND))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data", hasSize(1)))
+                .andExpect(jsonPath("$.data[0].brand", is(BRAND)))
+                .andExpect(jsonPath("$.data[0].count", is(2)));
+    }
+
+    @Test
+    void testRenameMergesIntoBucketsLeftByDeletedBrand() {
+        deviceService.saveAllDevices(List.of(device("Rollup 1")));
+        assertEquals(1, countToday(BRAND));
+        deviceService.deleteDevicesByBrand(BRAND);
+        brandRepository.findByName(BRAND).ifPresent(brandRepository::delete);
+        assertEquals(0, countToday(BRAND));
+
+        deviceService.saveAllDevices(List.of(device("Rollup 2", OLD_BRAND), device("Rollup 3", OLD_BRAND)));
+        assertEquals(2, countToday(OLD_BRAND));
+        var renamed = new BrandDTO();
+        renamed.setName(BRAND);
+        brandService.updateBrand(brandRepository.findByName(OLD_BRAND).orElseThrow().getId(), renamed);
+
+        assertEquals(2, countToday(BRAND));
+        assertEquals(0, countToday(OLD_BRAND));
+    }
+}
@@ -1,5 +1,6 @@
 package com.koss.devicemanager.integration;
 
+import com.jayway.jsonpath.JsonPath;
 import com.koss.devicemanager.entity.Brand;
 import com.koss.devicemanager.entity.Device;
 import com.koss.devicemanager.repository.BrandRepository;
@@ -10,17 +11,25 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +46,8 @@ class DeviceManagerIntegrationTest {
     private DeviceRepository deviceRepository;
     @Autowired
     private BrandRepository brandRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @BeforeEach
     void setUp() {
@@ -71,6 +82,149 @@ class DeviceManagerIntegrationTest {
                 .andExpect(jsonPath("$.data.brand", is("Brand1")));
     }
 
+    @Test
+    void testListDevicesByCreationTimePagesWithCursor() throws Exception {
+        Brand brand = brandRepository.findByName("Brand1").orElseThrow();
+        var start = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Device> timed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Device device = new Device();
+            device.setName("Timed Device " + i);
+            device.setBrand(brand);
+            device.setCreationTime(start.plusMinutes(i));
+            timed.add(device);
+        }
+        deviceRepository.saveAll(timed);
+
+        var firstPage = mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T12:00:00")
+                        .param("to", "2024-03-01T13:00:00")
+                        .param("brand", "Brand1")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", contains("Timed Device 0", "Timed Device 1")))
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T12:00:00")
+                        .param("to", "2024-03-01T13:00:00")
+                        .param("brand", "Brand1")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", contains("Timed Device 2")));
+    }
+
+    @Test
+    void testCursorPagesInCreationTimeOrderRatherThanIdOrder() throws Exception {
+        Brand brand = brandRepository.findByName("Brand1").orElseThrow();
+        var start = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Device> timed = new ArrayList<>();
+        for (var offset : List.of(30, 0, 30)) {
+            Device device = new Device();
+            device.setName("Ordered Device " + offset + "-" + timed.size());
+            device.setBrand(brand);
+            device.setCreationTime(start.plusMinutes(offset));
+            timed.add(device);
+        }
+        deviceRepository.saveAll(timed);
+
+        var firstPage = mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T12:00:00")
+                        .param("to", "2024-03-01T13:00:00")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", contains("Ordered Device 0-1", "Ordered Device 30-0")))
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("from", "2024-03-01T12:00:00")
+                        .param("to", "2024-03-01T13:00:00")
+                        .param("limit", "2")
+                        .param("cursor", cursor)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[*].name", contains("Ordered Device 30-2")));
+    }
+
+    @Test
+    void testGetDevicesByIds() throws Exception {
+        Device device = deviceRepository.findAll().get(0);
+
+        mockMvc.perform(get("/api/v1/user/devices/batch")
+                        .param("ids", device.getId() + ",999999")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.devices[0].name", is("Test Device 1")))
+                .andExpect(jsonPath("$.data.devices[0].brand", is("Brand1")))
+                .andExpect(jsonPath("$.data.missingIds[0]", is(999999)));
+    }
+
+    @Test
+    void testBulkPatchAndDeleteByBrand() throws Exception {
+        Device device = deviceRepository.findAll().get(0);
+        String patchJson = "[{\"id\": " + device.getId() + ", \"name\": \"Renamed\", \"brand\": \"Brand3\"}, {\"id\": 999999, \"name\": \"Ghost\"}]";
+
+        mockMvc.perform(patch("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(patchJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.affected", is(1)))
+                .andExpect(jsonPath("$.data.items[0].outcome", is("UPDATED")))
+                .andExpect(jsonPath("$.data.items[1].outcome", is("NOT_FOUND")));
+
+        String name = jdbcTemplate.queryForObject(
+                "SELECT d.name FROM device d JOIN brand b ON b.id = d.brand_id WHERE b.name = 'Brand3'", String.class);
+        assertEquals("Renamed", name);
+
+        mockMvc.perform(delete("/api/v1/admin/devices/bulk/brands/Brand3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.affected", is(1)));
+
+        Integer remaining = jdbcTemplate.queryForObject("SELECT count(*) FROM device", Integer.class);
+        assertEquals(1, remaining);
+    }
+
+    @Test
+    void testBulkCreateReturnsGeneratedIds() throws Exception {
+        String devicesJson = "[{\"name\": \"Bulk Device 1\", \"brand\": \"Brand1\"}, {\"name\": \"Bulk Device 2\", \"brand\": \"BrandBulk\"}]";
+
+        String response = mockMvc.perform(post("/api/v1/admin/devices/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(devicesJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Bulk Device 1")))
+                .andExpect(jsonPath("$.data[1].brand", is("BrandBulk")))
+                .andReturn().getResponse().getContentAsString();
+
+        for (int i = 0; i < 2; i++) {
+            Number id = JsonPath.read(response, "$.data[" + i + "].id");
+            Device saved = deviceRepository.findById(id.longValue()).orElseThrow();
+            assertEquals("Bulk Device " + (i + 1), saved.getName());
+            assertEquals(JsonPath.<String>read(response, "$.data[" + i + "].brand"), saved.getBrand().getName());
+            assertNotNull(saved.getCreationTime());
+        }
+    }
+
+    @Test
+    void testGetBrandsWithDeviceCount() throws Exception {
+        Brand emptyBrand = new Brand();
+        emptyBrand.setName("Brand Without Devices");
+        brandRepository.save(emptyBrand);
+
+        mockMvc.perform(get("/api/v1/user/brands/device-counts")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[?(@.name == 'Brand1')].deviceCount", contains(1)))
+                .andExpect(jsonPath("$.data[?(@.name == 'Brand2')].deviceCount", contains(1)))
+                .andExpect(jsonPath("$.data[?(@.name == 'Brand Without Devices')].deviceCount", contains(0)));
+    }
+
     @Test
     void testAddDevice() throws Exception {
         String newDeviceJson = "{\"name\": \"New Device\", \"brand\": \"BrandNew\"}";
@@ -131,4 +285,39 @@ class DeviceManagerIntegrationTest {
                 .andExpect(jsonPath("$.data[1].name", is("Test Device 2")))
                 .andExpect(jsonPath("$.totalElements", is(2)));
     }
+
+    @Test
+    void testListDevicesWithFields() throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .param("fields", "name,brand")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].name", is("Test Device 1")))
+                .andExpect(jsonPath("$.data[0].brand", is("Brand1")))
+                .andExpect(jsonPath("$.data[0].id").doesNotExist())
+                .andExpect(jsonPath("$.totalElements", is(2)));
+
+        mockMvc.perform(get("/api/v1/user/devices/brands/Brand2")
+                        .param("fields", "id")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)))
+                .andExpect(jsonPath("$.data[0].name").doesNotExist());
+    }
+
+    @Test
+    void testListDevicesAsCbor() throws Exception {
+        mockMvc.perform(get("/api/v1/user/devices")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void testListDevicesAsSmile() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/devices")
+                        .accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"));
+    }
 }
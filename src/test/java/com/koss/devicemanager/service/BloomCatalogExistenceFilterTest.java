@@ -0,0 +1,160 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
+import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.repository.DeviceRepository;
+import com.koss.devicemanager.service.impl.BloomCatalogExistenceFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class BloomCatalogExistenceFilterTest {
+    @Mock
+    private DeviceRepository deviceRepository;
+    @Mock
+    private DeviceBatchRepository deviceBatchRepository;
+    @Mock
+    private BrandRepository brandRepository;
+    private BloomCatalogExistenceFilter existenceFilter;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        existenceFilter = new BloomCatalogExistenceFilter(deviceRepository, deviceBatchRepository, brandRepository, true, 0.01, true);
+        when(deviceRepository.count()).thenReturn(3L);
+        when(brandRepository.findAllNames()).thenReturn(List.of("Apple"));
+        scannedIds(1L, 2L, 100L);
+    }
+
+    private void scannedIds(long... ids) {
+        doAnswer(invocation -> {
+            LongConsumer consumer = invocation.getArgument(0);
+            for (long id : ids) {
+                consumer.accept(id);
+            }
+            return null;
+        }).when(deviceBatchRepository).scanIds(any());
+    }
+
+    private static CatalogChangeEvent deviceCreated(long id, String brand) {
+        var device = new Device(id, "Device" + id, new Brand(5L, brand), LocalDateTime.now(), null);
+        return new CatalogChangeEvent(List.of(CatalogChangeEvent.deviceChange(ChangeType.CREATED, device, null)));
+    }
+
+    @Test
+    void excludes_ShouldExcludeNothingBeforeLoad() {
+        assertFalse(existenceFilter.excludesDevice(99L));
+        assertFalse(existenceFilter.excludesBrand("Unknown"));
+    }
+
+    @Test
+    void excludes_ShouldExcludeOnlyKeysMissingFromTheLoadedCatalog() {
+        existenceFilter.load();
+
+        assertFalse(existenceFilter.excludesDevice(1L));
+        assertFalse(existenceFilter.excludesDevice(2L));
+        assertFalse(existenceFilter.excludesDevice(100L));
+        assertTrue(existenceFilter.excludesDevice(99L));
+        assertFalse(existenceFilter.excludesBrand("Apple"));
+        assertFalse(existenceFilter.excludesBrand("APPLE "));
+        assertTrue(existenceFilter.excludesBrand("Unknown"));
+    }
+
+    @Test
+    void excludesBrand_ShouldMatchNamesTheDatabaseCollationTreatsAsEqual() {
+        when(brandRepository.findAllNames()).thenReturn(List.of("Nokia", "Stra\u00dfe", "Caf\u00e9"));
+        existenceFilter.load();
+
+        assertFalse(existenceFilter.excludesBrand("N\u00f3kia"));
+        assertFalse(existenceFilter.excludesBrand("NOKIA"));
+        assertFalse(existenceFilter.excludesBrand("STRASSE"));
+        assertFalse(existenceFilter.excludesBrand("Cafe\u0301"));
+        assertFalse(existenceFilter.excludesBrand("CAFE"));
+        assertTrue(existenceFilter.excludesBrand("Nokiax"));
+    }
+
+    @Test
+    void excludesDevice_ShouldNotExcludeIdsAboveTheHighestKnownOne() {
+        existenceFilter.load();
+
+        assertFalse(existenceFilter.excludesDevice(101L));
+    }
+
+    @Test
+    void load_ShouldStayOffWithoutCacheInvalidation() {
+        existenceFilter = new BloomCatalogExistenceFilter(deviceRepository, deviceBatchRepository, brandRepository, true, 0.01, false);
+
+        existenceFilter.load();
+
+        assertFalse(existenceFilter.excludesDevice(99L));
+        assertFalse(existenceFilter.excludesBrand("Unknown"));
+    }
+
+    @Test
+    void onCatalogChange_ShouldStopExcludingCreatedDevicesAndBrands() {
+        existenceFilter.load();
+
+        existenceFilter.onCatalogChange(deviceCreated(3L, "Samsung"));
+
+        assertFalse(existenceFilter.excludesDevice(3L));
+        assertFalse(existenceFilter.excludesBrand("Samsung"));
+    }
+
+    @Test
+    void load_ShouldKeepKeysAddedWhileLoading() {
+        doAnswer(invocation -> {
+            existenceFilter.onCatalogChange(deviceCreated(3L, "Samsung"));
+            ((LongConsumer) invocation.getArgument(0)).accept(1L);
+            return null;
+        }).when(deviceBatchRepository).scanIds(any());
+
+        existenceFilter.load();
+
+        assertFalse(existenceFilter.excludesDevice(1L));
+        assertFalse(existenceFilter.excludesDevice(3L));
+        assertTrue(existenceFilter.excludesDevice(2L));
+    }
+
+    @Test
+    void load_ShouldKeepThePreviousFilterWhenReloadFails() {
+        existenceFilter.load();
+        doThrow(new IllegalStateException("connection lost")).when(deviceBatchRepository).scanIds(any());
+
+        existenceFilter.rebuild();
+
+        assertFalse(existenceFilter.excludesDevice(1L));
+        assertTrue(existenceFilter.excludesDevice(99L));
+    }
+
+    @Test
+    void onCatalogInvalidation_ShouldAddRemoteDevicesAndReloadBrands() {
+        existenceFilter.load();
+        when(brandRepository.findAllNames()).thenReturn(List.of("Apple", "Nokia"));
+
+        existenceFilter.onCatalogInvalidation(new CatalogInvalidationEvent(List.of(
+                new CacheInvalidationDTO(ChangeEntityType.DEVICE, 7L, "other-node"),
+                new CacheInvalidationDTO(ChangeEntityType.BRAND, 3L, "other-node"))));
+
+        assertFalse(existenceFilter.excludesDevice(7L));
+        assertFalse(existenceFilter.excludesBrand("Nokia"));
+    }
+}
@@ -1,15 +1,22 @@
 package com.koss.devicemanager.service;
 
 import com.koss.devicemanager.dto.BrandDTO;
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeType;
 import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.event.CatalogChangeEvent;
 import com.koss.devicemanager.exception.BrandNotFoundException;
 import com.koss.devicemanager.mapper.BrandMapper;
+import com.koss.devicemanager.repository.BrandDeviceCount;
 import com.koss.devicemanager.repository.BrandRepository;
+import com.koss.devicemanager.repository.BrandRepositoryCustom;
 import com.koss.devicemanager.service.impl.BrandServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,6 +24,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -31,6 +39,9 @@ class BrandServiceImplTest {
     @Mock
     private BrandMapper brandMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BrandServiceImpl brandServiceImpl;
 
@@ -83,6 +94,23 @@ class BrandServiceImplTest {
         verify(brandMapper, times(brands.size())).toDTO(any(Brand.class));
     }
 
+    @Test
+    void testFindAllBrandsWithDeviceCount_Success() {
+        BrandDeviceCount count = mock(BrandDeviceCount.class);
+        BrandDTO brandDTO = new BrandDTO();
+        brandDTO.setDeviceCount(5L);
+
+        when(brandRepository.findAllWithDeviceCount()).thenReturn(List.of(count));
+        when(brandMapper.toCountedDTO(count)).thenReturn(brandDTO);
+
+        List<BrandDTO> result = brandServiceImpl.findAllBrandsWithDeviceCount();
+
+        assertEquals(1, result.size());
+        assertEquals(5L, result.get(0).getDeviceCount());
+        verify(brandRepository).findAllWithDeviceCount();
+        verify(brandRepository, never()).findAll();
+    }
+
     @Test
     void testAddBrand_Success() {
         BrandDTO brandDTO = new BrandDTO();
@@ -121,17 +149,49 @@ class BrandServiceImplTest {
     @Test
     void testGetOrCreateBrand_BrandDoesNotExist() {
         String brandName = "New Brand";
-        Brand newBrand = new Brand();
-        newBrand.setName(brandName);
 
         when(brandRepository.findByName(brandName)).thenReturn(Optional.empty());
-        when(brandRepository.save(any(Brand.class))).thenReturn(newBrand);
+        when(brandRepository.insertIfAbsent(brandName)).thenReturn(new BrandRepositoryCustom.InsertResult(5L, true));
 
         Brand result = brandServiceImpl.getOrCreateBrand(brandName);
 
+        assertEquals(5L, result.getId());
         assertEquals(brandName, result.getName());
         verify(brandRepository).findByName(brandName);
-        verify(brandRepository).save(any(Brand.class));
+        verify(brandRepository).insertIfAbsent(brandName);
+        verify(brandRepository, never()).findByNameForShare(brandName);
+        verify(brandRepository, never()).save(any(Brand.class));
+    }
+
+    @Test
+    void testGetOrCreateBrand_BrandCreatedConcurrently() {
+        String brandName = "Racing Brand";
+        Brand concurrentBrand = new Brand(7L, brandName);
+
+        when(brandRepository.findByName(brandName)).thenReturn(Optional.empty());
+        when(brandRepository.insertIfAbsent(brandName)).thenReturn(new BrandRepositoryCustom.InsertResult(null, false));
+        when(brandRepository.findByNameForShare(brandName)).thenReturn(Optional.of(concurrentBrand));
+
+        Brand result = brandServiceImpl.getOrCreateBrand(brandName);
+
+        assertEquals(7L, result.getId());
+        verify(brandRepository).findByNameForShare(brandName);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testGetOrCreateBrand_BrandCreatedConcurrentlyReturnsExistingIdFromUpsert() {
+        String brandName = "Racing Brand";
+
+        when(brandRepository.findByName(brandName)).thenReturn(Optional.empty());
+        when(brandRepository.insertIfAbsent(brandName)).thenReturn(new BrandRepositoryCustom.InsertResult(7L, false));
+
+        Brand result = brandServiceImpl.getOrCreateBrand(brandName);
+
+        assertEquals(7L, result.getId());
+        assertEquals(brandName, result.getName());
+        verify(brandRepository, never()).findByNameForShare(brandName);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -154,6 +214,13 @@ class BrandServiceImplTest {
         verify(brandRepository).findById(brandId);
         verify(brandRepository).save(existingBrand);
         verify(brandMapper).toDTO(existingBrand);
+
+        ArgumentCaptor<CatalogChangeEvent> event = ArgumentCaptor.forClass(CatalogChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        CatalogChangeDTO change = event.getValue().getChanges().get(0);
+        assertEquals(ChangeType.UPDATED, change.getChangeType());
+        assertEquals("Updated Brand", change.getName());
+        assertEquals("Old Brand", change.getPreviousBrand());
     }
 
     @Test
@@ -0,0 +1,109 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.BulkImportJobDTO;
+import com.koss.devicemanager.dto.BulkImportJobStatus;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.exception.BulkImportJobNotFoundException;
+import com.koss.devicemanager.exception.TooManyBulkImportJobsException;
+import com.koss.devicemanager.service.impl.BulkImportJobServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class BulkImportJobServiceImplTest {
+
+    @Mock
+    private DeviceService deviceService;
+
+    private final List<Runnable> pendingTasks = new ArrayList<>();
+    private final Executor deferredExecutor = pendingTasks::add;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+    }
+
+    private static List<DeviceDTO> devices(int count) {
+        List<DeviceDTO> devices = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            var device = new DeviceDTO();
+            device.setName("Device" + i);
+            device.setBrand("Brand");
+            devices.add(device);
+        }
+        return devices;
+    }
+
+    @Test
+    void submit_ShouldImportAllChunks() {
+        var service = new BulkImportJobServiceImpl(deviceService, Runnable::run, 2, 2, 10, 60);
+
+        BulkImportJobDTO job = service.submit(devices(5));
+
+        BulkImportJobDTO result = service.getJob(job.getId());
+        assertEquals(BulkImportJobStatus.COMPLETED, result.getStatus());
+        assertEquals(5, result.getProcessedRows());
+        assertEquals(0, result.getFailedRows());
+        assertNull(result.getEtaSeconds());
+        verify(deviceService, times(3)).saveAllDevices(anyList());
+    }
+
+    @Test
+    void submit_ShouldIsolateFailingRowsOfAFailedChunk() {
+        var rows = devices(3);
+        when(deviceService.saveAllDevices(anyList())).thenThrow(new RuntimeException("constraint violation"));
+        doThrow(new RuntimeException("bad row")).when(deviceService).addDevice(rows.get(1));
+        var service = new BulkImportJobServiceImpl(deviceService, Runnable::run, 2, 10, 10, 60);
+
+        BulkImportJobDTO job = service.submit(rows);
+
+        BulkImportJobDTO result = service.getJob(job.getId());
+        assertEquals(BulkImportJobStatus.COMPLETED_WITH_ERRORS, result.getStatus());
+        assertEquals(3, result.getProcessedRows());
+        assertEquals(1, result.getFailedRows());
+        assertEquals(1, result.getErrors().get(0).getRowIndex());
+        assertEquals("bad row", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void submit_ShouldRejectJobsAboveConcurrencyCap() {
+        var service = new BulkImportJobServiceImpl(deviceService, deferredExecutor, 1, 10, 10, 60);
+
+        service.submit(devices(1));
+
+        assertThrows(TooManyBulkImportJobsException.class, () -> service.submit(devices(1)));
+    }
+
+    @Test
+    void cancelJob_ShouldStopQueuedJob() {
+        var service = new BulkImportJobServiceImpl(deviceService, deferredExecutor, 1, 10, 10, 60);
+        BulkImportJobDTO job = service.submit(devices(3));
+
+        service.cancelJob(job.getId());
+        pendingTasks.forEach(Runnable::run);
+
+        assertEquals(BulkImportJobStatus.CANCELLED, service.getJob(job.getId()).getStatus());
+        verify(deviceService, times(0)).saveAllDevices(anyList());
+    }
+
+    @Test
+    void getJob_ShouldThrowWhenUnknown() {
+        var service = new BulkImportJobServiceImpl(deviceService, Runnable::run, 1, 10, 10, 60);
+
+        assertThrows(BulkImportJobNotFoundException.class, () -> service.getJob("missing"));
+    }
+}
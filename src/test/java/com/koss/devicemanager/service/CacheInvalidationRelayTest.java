@@ -0,0 +1,117 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
+import com.koss.devicemanager.service.impl.CacheInvalidationRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CacheInvalidationRelayTest {
+    private static final int MAX_ENTITIES_PER_WRITE = 3;
+
+    @Mock
+    private CacheInvalidationTransport transport;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private CacheInvalidationRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        relay = new CacheInvalidationRelay(transport, eventPublisher, MAX_ENTITIES_PER_WRITE);
+    }
+
+    private static Device device(long id) {
+        return new Device(id, "Device" + id, new Brand(1L, "Brand1"), LocalDateTime.now(), null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CacheInvalidationDTO> sent() {
+        ArgumentCaptor<List<CacheInvalidationDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transport).send(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void onCatalogChange_ShouldSendOneInvalidationPerChangedEntity() {
+        relay.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.brandChange(ChangeType.CREATED, new Brand(1L, "Brand1"), null),
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(7), null),
+                CatalogChangeEvent.deviceChange(ChangeType.UPDATED, device(7), "Brand0"))));
+
+        var sent = sent();
+        assertEquals(2, sent.size());
+        assertEquals(ChangeEntityType.DEVICE, sent.get(0).getEntityType());
+        assertEquals(7L, sent.get(0).getEntityId());
+        assertEquals(ChangeEntityType.BRAND, sent.get(1).getEntityType());
+        assertEquals(relay.getNodeId(), sent.get(1).getOriginNode());
+    }
+
+    @Test
+    void onCatalogChange_ShouldInvalidateTheWholeTypeForLargeWrites() {
+        List<CatalogChangeDTO> changes = new ArrayList<>();
+        for (long id = 1; id <= MAX_ENTITIES_PER_WRITE + 1; id++) {
+            changes.add(CatalogChangeEvent.deviceDeleted(device(id)));
+        }
+
+        relay.onCatalogChange(new CatalogChangeEvent(changes));
+
+        var sent = sent();
+        assertEquals(1, sent.size());
+        assertNull(sent.get(0).getEntityId());
+    }
+
+    @Test
+    void onCatalogChange_ShouldInvalidateAllDevicesWhenCleared() {
+        relay.onCatalogChange(new CatalogChangeEvent(List.of(CatalogChangeEvent.devicesCleared())));
+
+        var sent = sent();
+        assertEquals(1, sent.size());
+        assertEquals(ChangeEntityType.DEVICE, sent.get(0).getEntityType());
+        assertNull(sent.get(0).getEntityId());
+    }
+
+    @Test
+    void poll_ShouldPublishOnlyInvalidationsFromOtherInstances() {
+        var own = new CacheInvalidationDTO(ChangeEntityType.DEVICE, 1L, relay.getNodeId());
+        var remote = new CacheInvalidationDTO(ChangeEntityType.DEVICE, 2L, "other-node");
+        when(transport.receive()).thenReturn(List.of(own, remote));
+
+        relay.poll();
+
+        var captor = ArgumentCaptor.forClass(CatalogInvalidationEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(List.of(remote), captor.getValue().getInvalidations());
+    }
+
+    @Test
+    void poll_ShouldNotPublishWhenOnlyOwnInvalidationsArrive() {
+        when(transport.receive()).thenReturn(List.of(new CacheInvalidationDTO(ChangeEntityType.BRAND, 1L, relay.getNodeId())));
+
+        relay.poll();
+
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+}
@@ -0,0 +1,247 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeFeedPageDTO;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.ChangeLogEntry;
+import com.koss.devicemanager.entity.ChangeLogSequence;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogChangeFeedEvent;
+import com.koss.devicemanager.mapper.ChangeLogMapper;
+import com.koss.devicemanager.repository.ChangeLogRepository;
+import com.koss.devicemanager.repository.ChangeLogSequenceRepository;
+import com.koss.devicemanager.service.impl.ChangeFeedServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ChangeFeedServiceImplTest {
+    private static final int BUFFER_SIZE = 4;
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+    @Mock
+    private ChangeLogSequenceRepository sequenceRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    private final ChangeLogMapper changeLogMapper = Mappers.getMapper(ChangeLogMapper.class);
+    private ChangeFeedServiceImpl changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        var sequence = new ChangeLogSequence(ChangeLogSequence.ID, 10L);
+        when(sequenceRepository.findById(ChangeLogSequence.ID)).thenReturn(Optional.of(sequence));
+        when(sequenceRepository.findForUpdate()).thenReturn(Optional.of(sequence));
+        changeFeedService = new ChangeFeedServiceImpl(changeLogRepository, sequenceRepository, changeLogMapper,
+                transactionManager, eventPublisher, Runnable::run, BUFFER_SIZE, 7, 30);
+        ReflectionTestUtils.invokeMethod(changeFeedService, "init");
+    }
+
+    /**
+     * Runs the publishing inside a simulated transaction and returns the synchronizations it registered.
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable publishing) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            publishing.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<String> names(ChangeFeedPageDTO page) {
+        return page.getChanges().stream().map(CatalogChangeDTO::getName).toList();
+    }
+
+    private static ChangeLogEntry entry(long sequence, String name) {
+        var entry = new ChangeLogEntry();
+        entry.setSequence(sequence);
+        entry.setChangeType(ChangeType.CREATED);
+        entry.setName(name);
+        return entry;
+    }
+
+    private void publishBrands(String... names) {
+        List<CatalogChangeDTO> changes = new ArrayList<>();
+        for (String name : names) {
+            changes.add(CatalogChangeEvent.brandChange(ChangeType.CREATED, new Brand(null, name), null));
+        }
+        changeFeedService.onCatalogChange(new CatalogChangeEvent(changes));
+    }
+
+    @Test
+    void init_ShouldCreateSequenceRowContinuingAfterChangeLog() {
+        when(sequenceRepository.findById(ChangeLogSequence.ID)).thenReturn(Optional.empty());
+        when(changeLogRepository.findMaxSequence()).thenReturn(Optional.of(7L));
+        when(sequenceRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        var service = new ChangeFeedServiceImpl(changeLogRepository, sequenceRepository, changeLogMapper,
+                transactionManager, eventPublisher, Runnable::run, BUFFER_SIZE, 7, 30);
+
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        assertEquals(7, service.currentSequence());
+    }
+
+    @Test
+    void onCatalogChange_ShouldAllocateSequencesFromLockedRowAndPersist() {
+        publishBrands("A", "B");
+
+        assertEquals(12, changeFeedService.currentSequence());
+        assertEquals(12, sequenceRepository.findForUpdate().orElseThrow().getLastSequence());
+        verify(changeLogRepository).saveAll(any());
+
+        ChangeFeedPageDTO page = changeFeedService.getChanges(10, 100);
+        assertEquals(List.of(11L, 12L), page.getChanges().stream().map(CatalogChangeDTO::getSequence).toList());
+        assertEquals("A", page.getChanges().get(0).getName());
+        assertFalse(page.isResyncRequired());
+    }
+
+    @Test
+    void onCatalogChange_ShouldFailTheWriteWhenTheChangeLogCannotBeWritten() {
+        when(changeLogRepository.saveAll(any())).thenThrow(new IllegalStateException("down"));
+
+        inTransaction(() -> assertThrows(IllegalStateException.class, () -> publishBrands("A")));
+
+        assertEquals(10, changeFeedService.currentSequence());
+    }
+
+    @Test
+    void onCatalogChange_ShouldPublishInSequenceOrderWhenTransactionsCompleteOutOfOrder() {
+        var transactions = inTransaction(() -> {
+            publishBrands("A");
+            publishBrands("B");
+        });
+        verify(changeLogRepository, times(2)).saveAll(any());
+
+        transactions.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(10, changeFeedService.currentSequence());
+
+        transactions.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(12, changeFeedService.currentSequence());
+        assertEquals(List.of("A", "B"), names(changeFeedService.getChanges(10, 100)));
+        ArgumentCaptor<CatalogChangeFeedEvent> announced = ArgumentCaptor.forClass(CatalogChangeFeedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(announced.capture());
+        assertEquals(List.of(11L, 12L), announced.getAllValues().stream()
+                .map(event -> event.getChanges().get(0).getSequence())
+                .toList());
+    }
+
+    @Test
+    void onCatalogChange_ShouldNotPublishRolledBackTransactions() {
+        var transactions = inTransaction(() -> publishBrands("A"));
+
+        transactions.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(10, changeFeedService.currentSequence());
+    }
+
+    @Test
+    void catchUp_ShouldPublishChangesOfOtherInstancesBeforeLocalOnesWaitingForThem() {
+        var transactions = inTransaction(() -> {
+            sequenceRepository.findForUpdate().orElseThrow().setLastSequence(12L);
+            publishBrands("Local");
+        });
+        transactions.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(10, changeFeedService.currentSequence());
+        when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(entry(11L, "Remote 1"), entry(12L, "Remote 2")));
+
+        ReflectionTestUtils.invokeMethod(changeFeedService, "catchUp");
+
+        assertEquals(13, changeFeedService.currentSequence());
+        assertEquals(List.of("Remote 1", "Remote 2", "Local"), names(changeFeedService.getChanges(10, 100)));
+    }
+
+    @Test
+    void getChanges_ShouldCatchUpOnPositionsAheadOfThisInstance() {
+        when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(List.of(entry(11L, "Remote 1"), entry(12L, "Remote 2")));
+
+        ChangeFeedPageDTO page = changeFeedService.getChanges(11, 100);
+
+        assertFalse(page.isResyncRequired());
+        assertEquals(List.of("Remote 2"), names(page));
+    }
+
+    @Test
+    void subscribe_ShouldReplayOnTheFeedExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        var service = new ChangeFeedServiceImpl(changeLogRepository, sequenceRepository, changeLogMapper,
+                transactionManager, eventPublisher, tasks::add, BUFFER_SIZE, 7, 30);
+        ReflectionTestUtils.invokeMethod(service, "init");
+
+        service.subscribe(3L);
+
+        assertEquals(1, tasks.size());
+        verify(changeLogRepository, never()).findBySequenceGreaterThanOrderBySequenceAsc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getChanges_ShouldServeFromBufferWithoutTouchingChangeLog() {
+        publishBrands("A", "B", "C");
+
+        ChangeFeedPageDTO page = changeFeedService.getChanges(11, 1);
+
+        assertEquals(1, page.getChanges().size());
+        assertEquals(12L, page.getChanges().get(0).getSequence());
+        assertEquals(13, page.getLastSequence());
+        verify(changeLogRepository, never()).findBySequenceGreaterThanOrderBySequenceAsc(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getChanges_ShouldFallBackToChangeLogOnceOverwrittenInBuffer() {
+        publishBrands("A", "B", "C", "D", "E", "F");
+        when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(11L), any(Pageable.class)))
+                .thenReturn(List.of(entry(12L, "B")));
+
+        ChangeFeedPageDTO page = changeFeedService.getChanges(11, 1);
+
+        assertEquals(1, page.getChanges().size());
+        assertEquals("B", page.getChanges().get(0).getName());
+        assertFalse(page.isResyncRequired());
+    }
+
+    @Test
+    void getChanges_ShouldRequireResyncWhenChangesWerePruned() {
+        when(changeLogRepository.findBySequenceGreaterThanOrderBySequenceAsc(eq(3L), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        ChangeFeedPageDTO page = changeFeedService.getChanges(3, 100);
+
+        assertTrue(page.isResyncRequired());
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(10, page.getLastSequence());
+    }
+}
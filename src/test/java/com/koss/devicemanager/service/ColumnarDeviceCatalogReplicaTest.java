@@ -0,0 +1,127 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CatalogChangeDTO;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogChangeFeedEvent;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.service.impl.ColumnarDeviceCatalogReplica;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ColumnarDeviceCatalogReplicaTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @Mock
+    private DeviceBatchRepository deviceBatchRepository;
+    @Mock
+    private ChangeFeedService changeFeedService;
+    private ColumnarDeviceCatalogReplica replica;
+    private long sequence;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        replica = new ColumnarDeviceCatalogReplica(deviceBatchRepository, changeFeedService, true);
+    }
+
+    private CatalogChangeFeedEvent feedEvent(CatalogChangeDTO change) {
+        change.setSequence(++sequence);
+        return new CatalogChangeFeedEvent(List.of(change));
+    }
+
+    private CatalogChangeFeedEvent deviceEvent(ChangeType type, long id, String name, String brand) {
+        var device = new Device(id, name, new Brand(1L, brand), CREATED, null);
+        return feedEvent(CatalogChangeEvent.deviceChange(type, device, null));
+    }
+
+    private void scannedRow(long id, String name, String brand, Runnable duringScan) throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("id")).thenReturn(id);
+        when(row.getString("name")).thenReturn(name);
+        when(row.getString("brand")).thenReturn(brand);
+        when(row.getTimestamp("creation_time")).thenReturn(Timestamp.valueOf(CREATED));
+        doAnswer(invocation -> {
+            duringScan.run();
+            ((RowCallbackHandler) invocation.getArgument(0)).processRow(row);
+            return null;
+        }).when(deviceBatchRepository).scanAll(any());
+    }
+
+    @Test
+    void load_ShouldServeSnapshotAndApplyChangesCommittedDuringLoad() throws Exception {
+        scannedRow(1L, "Loaded", "Brand1", () -> {
+            replica.onCatalogChange(deviceEvent(ChangeType.UPDATED, 1L, "Renamed", "Brand1"));
+            replica.onCatalogChange(deviceEvent(ChangeType.CREATED, 2L, "Created", "Brand2"));
+        });
+
+        assertFalse(replica.isReady());
+        replica.load();
+
+        assertTrue(replica.isReady());
+        assertEquals(2, replica.size());
+        assertEquals("Renamed", replica.findById(1L).map(DeviceDTO::getName).orElseThrow());
+        assertEquals(CREATED, replica.findById(1L).map(DeviceDTO::getCreationTime).orElseThrow());
+        assertEquals(List.of(2L), replica.findByBrand("Brand2").stream().map(DeviceDTO::getId).toList());
+    }
+
+    @Test
+    void load_ShouldSkipChangesPublishedBeforeTheLoadStarted() throws Exception {
+        var stale = deviceEvent(ChangeType.UPDATED, 1L, "Stale", "Brand1");
+        when(changeFeedService.currentSequence()).thenReturn(sequence);
+        scannedRow(1L, "Loaded", "Brand1", () -> {
+            replica.onCatalogChange(stale);
+            replica.onCatalogChange(deviceEvent(ChangeType.CREATED, 2L, "Created", "Brand2"));
+        });
+
+        replica.load();
+
+        assertEquals("Loaded", replica.findById(1L).map(DeviceDTO::getName).orElseThrow());
+        assertEquals("Created", replica.findById(2L).map(DeviceDTO::getName).orElseThrow());
+    }
+
+    @Test
+    void onCatalogChange_ShouldApplyDeletesAndClearsOnceReady() {
+        replica.load();
+        replica.onCatalogChange(deviceEvent(ChangeType.CREATED, 1L, "One", "Brand1"));
+        replica.onCatalogChange(deviceEvent(ChangeType.CREATED, 2L, "Two", "Brand1"));
+
+        replica.onCatalogChange(feedEvent(CatalogChangeEvent.deviceDeleted(
+                new Device(1L, "One", new Brand(1L, "Brand1"), CREATED, null))));
+        assertEquals(List.of(2L), replica.findAll().stream().map(DeviceDTO::getId).toList());
+
+        replica.onCatalogChange(feedEvent(CatalogChangeEvent.devicesCleared()));
+        assertEquals(0, replica.size());
+    }
+
+    @Test
+    void load_ShouldStayOffWhenDisabled() {
+        var disabled = new ColumnarDeviceCatalogReplica(deviceBatchRepository, changeFeedService, false);
+
+        disabled.load();
+        disabled.onCatalogChange(deviceEvent(ChangeType.CREATED, 1L, "One", "Brand1"));
+
+        assertFalse(disabled.isReady());
+        verifyNoInteractions(deviceBatchRepository);
+    }
+}
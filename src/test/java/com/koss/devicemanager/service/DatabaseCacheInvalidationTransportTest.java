@@ -0,0 +1,125 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.entity.CacheInvalidationEntry;
+import com.koss.devicemanager.mapper.CacheInvalidationMapper;
+import com.koss.devicemanager.repository.CacheInvalidationRepository;
+import com.koss.devicemanager.service.impl.DatabaseCacheInvalidationTransport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class DatabaseCacheInvalidationTransportTest {
+    private static final Duration GAP_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration RETENTION = Duration.ofHours(1);
+
+    @Mock
+    private CacheInvalidationRepository invalidationRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final CacheInvalidationMapper invalidationMapper = Mappers.getMapper(CacheInvalidationMapper.class);
+    private final AtomicLong now = new AtomicLong();
+
+    private DatabaseCacheInvalidationTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        when(invalidationRepository.findMaxId()).thenReturn(Optional.of(10L));
+        transport = new DatabaseCacheInvalidationTransport(invalidationRepository, invalidationMapper, transactionManager,
+                100, GAP_TIMEOUT, RETENTION, now::get);
+        ReflectionTestUtils.invokeMethod(transport, "init");
+    }
+
+    private static CacheInvalidationEntry entry(long id, long deviceId) {
+        return new CacheInvalidationEntry(id, ChangeEntityType.DEVICE, deviceId, "other-node", LocalDateTime.now());
+    }
+
+    private void rowsAfter(long id, CacheInvalidationEntry... entries) {
+        when(invalidationRepository.findByIdGreaterThanOrderByIdAsc(eq(id), any(Pageable.class))).thenReturn(List.of(entries));
+    }
+
+    private static List<Long> entityIds(List<CacheInvalidationDTO> invalidations) {
+        return invalidations.stream().map(CacheInvalidationDTO::getEntityId).toList();
+    }
+
+    @Test
+    void receive_ShouldReturnRowsPastTheLastSeenId() {
+        rowsAfter(10, entry(11, 1), entry(12, 2));
+
+        assertEquals(List.of(1L, 2L), entityIds(transport.receive()));
+
+        rowsAfter(12);
+        assertTrue(transport.receive().isEmpty());
+    }
+
+    @Test
+    void receive_ShouldPickUpRowsCommittedAfterHigherIds() {
+        rowsAfter(10, entry(11, 1), entry(13, 3));
+        assertEquals(List.of(1L, 3L), entityIds(transport.receive()));
+
+        rowsAfter(13);
+        when(invalidationRepository.findAllById(List.of(12L))).thenReturn(List.of(entry(12, 2)));
+
+        assertEquals(List.of(2L), entityIds(transport.receive()));
+    }
+
+    @Test
+    void receive_ShouldStopLookingForMissingIdsAfterTheGapTimeout() {
+        rowsAfter(10, entry(12, 2));
+        transport.receive();
+        rowsAfter(12);
+
+        now.addAndGet(GAP_TIMEOUT.toNanos() + 1);
+        transport.receive();
+        transport.receive();
+
+        verify(invalidationRepository).findAllById(List.of(11L));
+    }
+
+    @Test
+    void receive_ShouldInvalidateEverythingAfterMissingRowsThatMayHaveBeenPruned() {
+        when(invalidationRepository.findMaxId()).thenReturn(Optional.of(500L));
+        rowsAfter(500);
+        now.addAndGet(RETENTION.toNanos() + 1);
+
+        var received = transport.receive();
+
+        assertEquals(ChangeEntityType.values().length, received.size());
+        assertTrue(received.stream().allMatch(CacheInvalidationDTO::isAll));
+        verify(invalidationRepository, never()).findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class));
+    }
+
+    @Test
+    void receive_ShouldInvalidateEverythingInsteadOfTrackingHugeGaps() {
+        rowsAfter(10, entry(100_000, 1));
+
+        var received = transport.receive();
+
+        assertTrue(received.get(0).isAll());
+        assertEquals(1L, received.get(received.size() - 1).getEntityId());
+        rowsAfter(100_000);
+        transport.receive();
+        verify(invalidationRepository, never()).findAllById(any());
+    }
+}
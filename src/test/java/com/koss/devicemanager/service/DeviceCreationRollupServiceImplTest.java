@@ -0,0 +1,240 @@
+package com.koss.devicemanager.service;
+
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.RollupGranularity;
+import com.koss.devicemanager.entity.Brand;
+import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.entity.DeviceCreationRollup;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.mapper.DeviceCreationRollupMapper;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
+import com.koss.devicemanager.repository.DeviceCreationRollupBatchRepository;
+import com.koss.devicemanager.repository.DeviceCreationRollupRepository;
+import com.koss.devicemanager.service.impl.DeviceCreationRollupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class DeviceCreationRollupServiceImplTest {
+    private static final LocalDateTime CREATED = LocalDateTime.now().withMinute(10).withSecond(30).withNano(0);
+
+    @Mock
+    private DeviceCreationRollupRepository rollupRepository;
+    @Mock
+    private DeviceCreationRollupBatchRepository rollupBatchRepository;
+    @Mock
+    private DeviceBatchRepository deviceBatchRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private final DeviceCreationRollupMapper rollupMapper = Mappers.getMapper(DeviceCreationRollupMapper.class);
+    private DeviceCreationRollupServiceImpl rollupService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        rollupService = new DeviceCreationRollupServiceImpl(rollupRepository, rollupBatchRepository,
+                deviceBatchRepository, rollupMapper, transactionManager, 30);
+        ReflectionTestUtils.invokeMethod(rollupService, "init");
+    }
+
+    private static Device device(long id, String brand) {
+        return new Device(id, "Device " + id, new Brand(1L, brand), CREATED, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> journaledCounts(RollupGranularity granularity) {
+        ArgumentCaptor<List<DeviceCreationRollup>> rows = ArgumentCaptor.forClass(List.class);
+        verify(rollupBatchRepository, atLeastOnce()).appendDeltas(rows.capture());
+        return rows.getAllValues().stream()
+                .flatMap(List::stream)
+                .filter(row -> row.getGranularity() == granularity)
+                .collect(Collectors.toMap(DeviceCreationRollup::getBrand, DeviceCreationRollup::getDeviceCount, Long::sum));
+    }
+
+    private static DeviceCreationRollup delta(long id, String brand, long count) {
+        return new DeviceCreationRollup(id, RollupGranularity.HOUR, CREATED.withMinute(0).withSecond(0), brand, count);
+    }
+
+    @Test
+    void onCatalogChange_ShouldJournalCombinedDeltasPerBucket() {
+        rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(1L, "A"), null),
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(2L, "A"), null),
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(3L, "B"), null))));
+
+        assertEquals(Map.of("A", 2L, "B", 1L), journaledCounts(RollupGranularity.HOUR));
+        verify(rollupBatchRepository, never()).addCounts(any());
+    }
+
+    @Test
+    void onCatalogChange_ShouldMoveDeviceBetweenBrandsOnBrandChange() {
+        rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.UPDATED, device(1L, "B"), "A"),
+                CatalogChangeEvent.deviceChange(ChangeType.UPDATED, device(2L, "B"), "B"))));
+
+        assertEquals(Map.of("A", -1L, "B", 1L), journaledCounts(RollupGranularity.DAY));
+    }
+
+    @Test
+    void onCatalogChange_ShouldNotLockForDeviceChanges() {
+        rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(1L, "A"), null))));
+
+        verify(rollupBatchRepository, never()).lock();
+    }
+
+    @Test
+    void onCatalogChange_ShouldPropagateJournalFailures() {
+        doThrow(new IllegalStateException("database down")).when(rollupBatchRepository).appendDeltas(any());
+
+        assertThrows(IllegalStateException.class, () -> rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(1L, "A"), null)))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldApplyJournaledDeltasAndDeleteThem() {
+        when(rollupBatchRepository.claimDeltas(anyLong(), anyInt()))
+                .thenReturn(List.of(delta(4L, "A", 1), delta(5L, "A", 1), delta(6L, "B", 1), delta(7L, "B", -1)));
+
+        rollupService.flush();
+
+        ArgumentCaptor<List<DeviceCreationRollup>> rows = ArgumentCaptor.forClass(List.class);
+        var order = inOrder(rollupBatchRepository);
+        order.verify(rollupBatchRepository).lock();
+        order.verify(rollupBatchRepository).claimDeltas(anyLong(), anyInt());
+        order.verify(rollupBatchRepository).addCounts(rows.capture());
+        assertEquals(1, rows.getValue().size());
+        assertEquals("A", rows.getValue().get(0).getBrand());
+        assertEquals(2, rows.getValue().get(0).getDeviceCount());
+        verify(rollupBatchRepository).deleteDeltas(List.of(4L, 5L, 6L, 7L));
+    }
+
+    @Test
+    void flush_ShouldDoNothingWithoutJournaledDeltas() {
+        rollupService.flush();
+
+        verify(rollupBatchRepository, never()).addCounts(any());
+        verify(rollupBatchRepository, never()).deleteDeltas(any());
+    }
+
+    @Test
+    void flush_ShouldKeepDeltasWhenWriteFails() {
+        when(rollupBatchRepository.claimDeltas(anyLong(), anyInt())).thenReturn(List.of(delta(1L, "A", 1)));
+        doAnswer(invocation -> {
+            throw new IllegalStateException("database down");
+        }).doNothing().when(rollupBatchRepository).addCounts(any());
+
+        rollupService.flush();
+        verify(rollupBatchRepository, never()).deleteDeltas(any());
+        rollupService.flush();
+
+        verify(rollupBatchRepository, times(2)).addCounts(any());
+        verify(rollupBatchRepository).deleteDeltas(List.of(1L));
+    }
+
+    @Test
+    void onCatalogChange_ShouldLockAndJournalDeltasBeforeRenamingBrand() {
+        rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(1L, "A"), null),
+                CatalogChangeEvent.brandChange(ChangeType.UPDATED, new Brand(1L, "Renamed"), "A"))));
+
+        var order = inOrder(rollupBatchRepository);
+        order.verify(rollupBatchRepository).lock();
+        order.verify(rollupBatchRepository).appendDeltas(argThat(rows -> !rows.isEmpty()));
+        order.verify(rollupBatchRepository).renameBrand("A", "Renamed");
+    }
+
+    @Test
+    void onCatalogChange_ShouldDiscardDeltasOnClear() {
+        rollupService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.CREATED, device(1L, "A"), null),
+                CatalogChangeEvent.devicesCleared())));
+
+        var order = inOrder(rollupBatchRepository);
+        order.verify(rollupBatchRepository).lock();
+        order.verify(rollupBatchRepository).deleteAll();
+        verify(rollupBatchRepository, never()).appendDeltas(argThat(rows -> !rows.isEmpty()));
+    }
+
+    @Test
+    void getCreationCounts_ShouldFlushAndAlignFromToBucket() {
+        var from = CREATED.withMinute(45);
+        var to = from.plusHours(2);
+        when(rollupRepository.findBuckets(RollupGranularity.HOUR, CREATED.withMinute(0).withSecond(0), to, "A"))
+                .thenReturn(List.of(new DeviceCreationRollup(1L, RollupGranularity.HOUR, CREATED.withMinute(0).withSecond(0), "A", 3)));
+        when(rollupBatchRepository.claimDeltas(anyLong(), anyInt())).thenReturn(List.of(delta(1L, "A", 1)));
+
+        var buckets = rollupService.getCreationCounts(RollupGranularity.HOUR, from, to, "A");
+
+        verify(rollupBatchRepository).addCounts(any());
+        assertEquals(1, buckets.size());
+        assertEquals(3, buckets.get(0).getCount());
+        assertEquals("A", buckets.get(0).getBrand());
+    }
+
+    @Test
+    void restore_ShouldApplyJournaledDeltasLeftByThePreviousRun() {
+        when(rollupRepository.count()).thenReturn(5L);
+        when(rollupBatchRepository.claimDeltas(anyLong(), anyInt())).thenReturn(List.of(delta(1L, "A", 1)));
+
+        ReflectionTestUtils.invokeMethod(rollupService, "restore");
+
+        verify(rollupBatchRepository).addCounts(any());
+        verify(rollupBatchRepository).deleteDeltas(List.of(1L));
+        verify(deviceBatchRepository, never()).scanAll(any());
+    }
+
+    @Test
+    void rebuild_ShouldReplaceRollupsWithCountsFromDeviceTable() throws Exception {
+        var row = mock(ResultSet.class);
+        when(row.getTimestamp("creation_time")).thenReturn(Timestamp.valueOf(CREATED));
+        when(row.getString("brand")).thenReturn("A");
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(0);
+            handler.processRow(row);
+            handler.processRow(row);
+            return null;
+        }).when(deviceBatchRepository).scanAll(any());
+
+        long devices = rollupService.rebuild();
+
+        assertEquals(2, devices);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<DeviceCreationRollup>> rows = ArgumentCaptor.forClass(List.class);
+        var order = inOrder(rollupBatchRepository);
+        order.verify(rollupBatchRepository).deleteAll();
+        order.verify(rollupBatchRepository).insertAll(rows.capture());
+        assertEquals(RollupGranularity.values().length, rows.getValue().size());
+        rows.getValue().forEach(rollup -> assertEquals(2, rollup.getDeviceCount()));
+    }
+}
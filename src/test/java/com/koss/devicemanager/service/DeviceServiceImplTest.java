@@ -1,27 +1,66 @@
 package com.koss.devicemanager.service;
 
+import com.koss.devicemanager.dto.BatchItemOutcome;
+import com.koss.devicemanager.dto.BatchOperationResultDTO;
+import com.koss.devicemanager.dto.BulkUpsertResultDTO;
+import com.koss.devicemanager.dto.CacheInvalidationDTO;
+import com.koss.devicemanager.dto.ChangeEntityType;
+import com.koss.devicemanager.dto.ChangeType;
+import com.koss.devicemanager.dto.CursorPageDTO;
+import com.koss.devicemanager.dto.DeviceBatchDTO;
 import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.dto.DeviceField;
+import com.koss.devicemanager.dto.DevicePatchDTO;
 import com.koss.devicemanager.entity.Brand;
 import com.koss.devicemanager.entity.Device;
+import com.koss.devicemanager.event.CatalogChangeEvent;
+import com.koss.devicemanager.event.CatalogInvalidationEvent;
 import com.koss.devicemanager.exception.DeviceNotFoundException;
+import com.koss.devicemanager.exception.InvalidRequestParameterException;
 import com.koss.devicemanager.mapper.DeviceMapper;
+import com.koss.devicemanager.repository.DeviceBatchRepository;
 import com.koss.devicemanager.repository.DeviceRepository;
 import com.koss.devicemanager.service.impl.DeviceServiceImpl;
+import com.koss.devicemanager.util.CreationTimeCursor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -30,18 +69,45 @@ class DeviceServiceImplTest {
     @Mock
     private DeviceRepository deviceRepository;
     @Mock
+    private DeviceBatchRepository deviceBatchRepository;
+    @Mock
     private BrandService brandService;
     @Mock
     private DeviceMapper deviceMapper;
-    @InjectMocks
+    @Mock
+    private DeviceCatalogReplica catalogReplica;
+    @Mock
+    private CatalogExistenceFilter existenceFilter;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private Executor bulkWriteExecutor;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     private DeviceServiceImpl deviceService;
     private Device device;
     private DeviceDTO deviceDTO;
     private Brand brand;
 
+    private DeviceServiceImpl newDeviceService(int writeChunkSize) {
+        return new DeviceServiceImpl(deviceRepository, deviceBatchRepository, brandService, deviceMapper, catalogReplica,
+                existenceFilter, transactionTemplate, eventPublisher, bulkWriteExecutor, writeChunkSize);
+    }
+
     @BeforeEach
     void setUp() {
         openMocks(this);
+        deviceService = newDeviceService(1000);
+        doAnswer(invocation -> ((TransactionCallback<?>) invocation.getArgument(0)).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        doAnswer(invocation -> {
+            ((Consumer<TransactionStatus>) invocation.getArgument(0)).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(bulkWriteExecutor).execute(any());
 
         brand = new Brand();
         brand.setId(1L);
@@ -87,6 +153,41 @@ class DeviceServiceImplTest {
         verify(deviceMapper).toDTO(device);
     }
 
+    @Test
+    void getPaginatedDevices_ShouldServeRepeatedPagesFromCacheUntilCatalogChanges() {
+        ReflectionTestUtils.setField(deviceService, "pageCacheEnabled", true);
+        ReflectionTestUtils.invokeMethod(deviceService, "init");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(deviceRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(device)));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        deviceService.getPaginatedDevices(pageable);
+        Page<DeviceDTO> cached = deviceService.getPaginatedDevices(pageable);
+        verify(deviceRepository, times(1)).findAll(pageable);
+        assertEquals(List.of(deviceDTO), cached.getContent());
+
+        deviceService.onCatalogChange(new CatalogChangeEvent(List.of(CatalogChangeEvent.deviceDeleted(device))));
+        deviceService.getPaginatedDevices(pageable);
+
+        verify(deviceRepository, times(2)).findAll(pageable);
+    }
+
+    @Test
+    void getPaginatedDevices_ShouldDropCachedPagesWhenAnotherInstanceChangesTheCatalog() {
+        ReflectionTestUtils.setField(deviceService, "pageCacheEnabled", true);
+        ReflectionTestUtils.invokeMethod(deviceService, "init");
+        Pageable pageable = PageRequest.of(0, 10);
+        when(deviceRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(device)));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        deviceService.getPaginatedDevices(pageable);
+        deviceService.onCatalogInvalidation(new CatalogInvalidationEvent(
+                List.of(new CacheInvalidationDTO(ChangeEntityType.BRAND, 1L, "other-node"))));
+        deviceService.getPaginatedDevices(pageable);
+
+        verify(deviceRepository, times(2)).findAll(pageable);
+    }
+
     @Test
     void findDeviceById_ShouldReturnDevice() {
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
@@ -111,6 +212,178 @@ class DeviceServiceImplTest {
         verify(deviceMapper).toDTO(device);
     }
 
+    @Test
+    void findDevicesByBrand_ShouldServeCachedListUntilADeviceOfTheBrandChanges() {
+        ReflectionTestUtils.setField(deviceService, "brandCacheEnabled", true);
+        ReflectionTestUtils.invokeMethod(deviceService, "init");
+        when(deviceRepository.findByBrandName(any())).thenReturn(List.of(device));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        deviceService.findDevicesByBrand("Test Brand");
+        deviceService.findDevicesByBrand("Old Brand");
+        deviceService.findDevicesByBrand("Other Brand");
+        assertEquals(List.of(deviceDTO), deviceService.findDevicesByBrand("Test Brand"));
+        verify(deviceRepository, times(1)).findByBrandName("Test Brand");
+
+        deviceService.onCatalogChange(new CatalogChangeEvent(List.of(
+                CatalogChangeEvent.deviceChange(ChangeType.UPDATED, device, "Old Brand"))));
+        deviceService.findDevicesByBrand("Test Brand");
+        deviceService.findDevicesByBrand("Old Brand");
+        deviceService.findDevicesByBrand("Other Brand");
+
+        verify(deviceRepository, times(2)).findByBrandName("Test Brand");
+        verify(deviceRepository, times(2)).findByBrandName("Old Brand");
+        verify(deviceRepository, times(1)).findByBrandName("Other Brand");
+    }
+
+    @Test
+    void findDeviceById_ShouldShareOneQueryBetweenConcurrentCalls() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+        deviceService.bindTo(meterRegistry);
+        var release = new CountDownLatch(1);
+        when(deviceRepository.findById(1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(device);
+        });
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<DeviceDTO>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> deviceService.findDeviceById(1L)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (mergedLookups(meterRegistry) < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            for (Future<DeviceDTO> result : results) {
+                assertEquals(deviceDTO, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(deviceRepository, times(1)).findById(1L);
+        assertEquals(3, mergedLookups(meterRegistry));
+    }
+
+    private static double mergedLookups(SimpleMeterRegistry meterRegistry) {
+        return meterRegistry.get("device_manager.coalesced_lookups")
+                .tag("lookup", "device_by_id").tag("outcome", "merged").functionCounter().count();
+    }
+
+    @Test
+    void findDevicesByIds_ShouldReturnFoundDevicesAndMissingIds() {
+        when(deviceRepository.findWithBrandByIdIn(any())).thenReturn(List.of(device));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        DeviceBatchDTO result = deviceService.findDevicesByIds(List.of(1L, 2L, 1L));
+
+        assertEquals(List.of(deviceDTO), result.getDevices());
+        assertEquals(List.of(2L), result.getMissingIds());
+    }
+
+    @Test
+    void findDevicesByIds_ShouldNotQueryIdsExcludedByExistenceFilter() {
+        when(existenceFilter.excludesDevice(2L)).thenReturn(true);
+        when(deviceRepository.findWithBrandByIdIn(List.of(1L))).thenReturn(List.of(device));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        DeviceBatchDTO result = deviceService.findDevicesByIds(List.of(1L, 2L));
+
+        assertEquals(List.of(deviceDTO), result.getDevices());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(deviceRepository).findWithBrandByIdIn(List.of(1L));
+    }
+
+    @Test
+    void findDeviceById_ShouldAnswerNotFoundWithoutQueryWhenExcludedByExistenceFilter() {
+        when(existenceFilter.excludesDevice(99L)).thenReturn(true);
+
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.findDeviceById(99L));
+        assertThrows(DeviceNotFoundException.class, () -> deviceService.findDeviceById(99L, Set.of(DeviceField.NAME)));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void findDevicesByBrand_ShouldReturnEmptyWithoutQueryWhenExcludedByExistenceFilter() {
+        when(existenceFilter.excludesBrand("Unknown")).thenReturn(true);
+
+        assertEquals(List.of(), deviceService.findDevicesByBrand("Unknown"));
+        assertEquals(List.of(), deviceService.findDevicesByBrand("Unknown", Set.of(DeviceField.NAME)));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void findDevicesByBrand_ShouldUseCatalogReplicaWhenReady() {
+        when(catalogReplica.isReady()).thenReturn(true);
+        when(catalogReplica.findByBrand("Test Brand")).thenReturn(List.of(deviceDTO));
+
+        List<DeviceDTO> result = deviceService.findDevicesByBrand("Test Brand");
+
+        assertEquals(List.of(deviceDTO), result);
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void findDevicesByCreationTime_ShouldPointCursorAfterLastDevice() {
+        var from = LocalDateTime.of(2024, 3, 1, 12, 0);
+        device.setCreationTime(from);
+        when(deviceRepository.findByCreationTimeRange(from, null, "Test Brand", null, null, 10))
+                .thenReturn(List.of(device));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        CursorPageDTO<DeviceDTO> result = deviceService.findDevicesByCreationTime(from, null, "Test Brand", null, 10);
+
+        assertEquals(List.of(deviceDTO), result.getContent());
+        var cursor = CreationTimeCursor.decode(result.getNextCursor());
+        assertEquals(from, cursor.getCreationTime());
+        assertEquals(1L, cursor.getId());
+    }
+
+    @Test
+    void findDevicesByCreationTime_ShouldKeepCursorWhenNothingNewMatched() {
+        var after = LocalDateTime.of(2024, 3, 1, 12, 0);
+        var cursor = new CreationTimeCursor(after, 7L).encode();
+        when(deviceRepository.findByCreationTimeRange(null, null, null, after, 7L, 10)).thenReturn(List.of());
+
+        CursorPageDTO<DeviceDTO> result = deviceService.findDevicesByCreationTime(null, null, null, cursor, 10);
+
+        assertEquals(List.of(), result.getContent());
+        assertEquals(cursor, result.getNextCursor());
+    }
+
+    @Test
+    void findDevicesByCreationTime_ShouldReturnNoCursorForEmptyFirstPage() {
+        when(deviceRepository.findByCreationTimeRange(null, null, "Test Brand", null, null, 10)).thenReturn(List.of());
+
+        CursorPageDTO<DeviceDTO> result = deviceService.findDevicesByCreationTime(null, null, "Test Brand", null, 10);
+
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void findDevicesByCreationTime_ShouldRejectMalformedCursor() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> deviceService.findDevicesByCreationTime(null, null, null, "not a cursor", 10));
+        verifyNoInteractions(deviceRepository);
+    }
+
+    @Test
+    void getPaginatedDevices_ShouldUseCatalogReplicaWhenReady() {
+        when(catalogReplica.isReady()).thenReturn(true);
+        when(catalogReplica.findPage(10, 10)).thenReturn(List.of(deviceDTO));
+        when(catalogReplica.size()).thenReturn(11);
+
+        Page<DeviceDTO> result = deviceService.getPaginatedDevices(PageRequest.of(1, 10));
+
+        assertEquals(11, result.getTotalElements());
+        assertEquals(List.of(deviceDTO), result.getContent());
+        verifyNoInteractions(deviceRepository);
+    }
+
     @Test
     void findDeviceById_ShouldThrowDeviceNotFoundException() {
         when(deviceRepository.findById(1L)).thenReturn(Optional.empty());
@@ -134,6 +407,39 @@ class DeviceServiceImplTest {
         verify(deviceMapper).toDTO(device);
     }
 
+    @Test
+    void addDevice_ShouldInsertThroughWriteCombinerWhenEnabled() {
+        ReflectionTestUtils.setField(deviceService, "writeCombinerEnabled", true);
+        ReflectionTestUtils.invokeMethod(deviceService, "init");
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(deviceDTO)).thenReturn(device);
+        when(deviceBatchRepository.insertAll(List.of(device))).thenReturn(List.of(device));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+
+        DeviceDTO result = deviceService.addDevice(deviceDTO);
+
+        assertEquals(deviceDTO, result);
+        verify(deviceBatchRepository).insertAll(List.of(device));
+        verify(deviceRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(any(CatalogChangeEvent.class));
+    }
+
+    @Test
+    void addDevice_ShouldPublishCreatedChange() {
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(deviceDTO)).thenReturn(device);
+        when(deviceRepository.save(device)).thenReturn(device);
+
+        deviceService.addDevice(deviceDTO);
+
+        ArgumentCaptor<CatalogChangeEvent> event = ArgumentCaptor.forClass(CatalogChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1, event.getValue().getChanges().size());
+        assertEquals(ChangeType.CREATED, event.getValue().getChanges().get(0).getChangeType());
+        assertEquals(1L, event.getValue().getChanges().get(0).getId());
+        assertEquals("Test Brand", event.getValue().getChanges().get(0).getBrand());
+    }
+
     @Test
     void updateDevice_ShouldUpdateAndReturnDevice() {
         when(deviceRepository.findById(1L)).thenReturn(Optional.of(device));
@@ -186,15 +492,204 @@ class DeviceServiceImplTest {
     void saveAllDevices_ShouldSaveAndReturnDevices() {
         when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
         when(deviceMapper.toEntity(deviceDTO)).thenReturn(device);
-        when(deviceRepository.saveAll(List.of(device))).thenReturn(List.of(device));
+        when(deviceBatchRepository.insertAll(List.of(device))).thenReturn(List.of(device));
         when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
 
         List<DeviceDTO> result = deviceService.saveAllDevices(List.of(deviceDTO));
 
         assertEquals(1, result.size());
         assertEquals("Test Device", result.get(0).getName());
-        verify(deviceRepository).saveAll(List.of(device));
+        verify(deviceBatchRepository).insertAll(List.of(device));
         verify(deviceMapper).toDTO(device);
     }
-}
 
+    @Test
+    void saveAllDevicesStreaming_ShouldSaveRowsInChunksAsTheyArrive() throws IOException {
+        DeviceDTO secondDTO = new DeviceDTO();
+        secondDTO.setName("Second Device");
+        secondDTO.setBrand("Test Brand");
+        Device secondDevice = new Device();
+        secondDevice.setName("Second Device");
+
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(deviceDTO)).thenReturn(device);
+        when(deviceMapper.toEntity(secondDTO)).thenReturn(secondDevice);
+        when(deviceBatchRepository.insertAll(List.of(device))).thenReturn(List.of(device));
+        when(deviceBatchRepository.insertAll(List.of(secondDevice))).thenReturn(List.of(secondDevice));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+        when(deviceMapper.toDTO(secondDevice)).thenReturn(secondDTO);
+        deviceService = newDeviceService(1);
+
+        List<DeviceDTO> result = deviceService.saveAllDevicesStreaming(rowConsumer -> {
+            rowConsumer.accept(deviceDTO);
+            verify(deviceBatchRepository).insertAll(List.of(device));
+            rowConsumer.accept(secondDTO);
+        });
+
+        assertEquals(List.of(deviceDTO, secondDTO), result);
+        verify(deviceBatchRepository).insertAll(List.of(secondDevice));
+    }
+
+    @Test
+    void saveAllDevicesInParallel_ShouldResolveBrandOnceAndKeepInputOrder() {
+        DeviceDTO secondDTO = new DeviceDTO();
+        secondDTO.setName("Second Device");
+        secondDTO.setBrand("Test Brand");
+        Device secondDevice = new Device();
+        secondDevice.setName("Second Device");
+
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(deviceDTO)).thenReturn(device);
+        when(deviceMapper.toEntity(secondDTO)).thenReturn(secondDevice);
+        when(deviceBatchRepository.insertAll(List.of(device))).thenReturn(List.of(device));
+        when(deviceBatchRepository.insertAll(List.of(secondDevice))).thenReturn(List.of(secondDevice));
+        when(deviceMapper.toDTO(device)).thenReturn(deviceDTO);
+        when(deviceMapper.toDTO(secondDevice)).thenReturn(secondDTO);
+        deviceService = newDeviceService(1);
+
+        List<DeviceDTO> result = deviceService.saveAllDevicesInParallel(List.of(deviceDTO, secondDTO));
+
+        assertEquals(List.of(deviceDTO, secondDTO), result);
+        verify(brandService, times(1)).getOrCreateBrand("Test Brand");
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void upsertAllDevices_ShouldSkipUnchangedUpdateChangedAndInsertNew() {
+        DeviceDTO unchangedDTO = new DeviceDTO();
+        unchangedDTO.setName("Test Device");
+        unchangedDTO.setBrand("Test Brand");
+
+        Device synced = new Device();
+        synced.setId(2L);
+        synced.setName("Old Name");
+        synced.setBrand(brand);
+        synced.setExternalId("SKU-2");
+        DeviceDTO renamedDTO = new DeviceDTO();
+        renamedDTO.setName("New Name");
+        renamedDTO.setBrand("Test Brand");
+        renamedDTO.setExternalId("SKU-2");
+
+        DeviceDTO newDTO = new DeviceDTO();
+        newDTO.setName("Brand New");
+        newDTO.setBrand("Test Brand");
+        Device newDevice = new Device();
+
+        when(deviceRepository.findByExternalIdIn(List.of("SKU-2"))).thenReturn(List.of(synced));
+        when(deviceRepository.findByBrandAndNameIn(Map.of("Test Brand", Set.of("Test Device", "Brand New"))))
+                .thenReturn(List.of(device));
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(newDTO)).thenReturn(newDevice);
+        when(deviceBatchRepository.insertAll(List.of(newDevice))).thenReturn(List.of(newDevice));
+        when(deviceRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Device> saved = new ArrayList<>();
+            ((Iterable<Device>) invocation.getArgument(0)).forEach(saved::add);
+            return saved;
+        });
+
+        BulkUpsertResultDTO result = deviceService.upsertAllDevices(List.of(unchangedDTO, renamedDTO, newDTO));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals(1, result.getUnchanged());
+        assertEquals("New Name", synced.getName());
+        assertEquals(brand, newDevice.getBrand());
+        verify(deviceBatchRepository).insertAll(List.of(newDevice));
+        verify(deviceRepository).saveAll(Set.of(synced));
+    }
+
+    @Test
+    void upsertAllDevices_ShouldMatchUnknownExternalIdsOnBrandAndName() {
+        DeviceDTO keyedDTO = new DeviceDTO();
+        keyedDTO.setName("Test Device");
+        keyedDTO.setBrand("Test Brand");
+        keyedDTO.setExternalId("SKU-1");
+        Device keyedElsewhere = new Device(3L, "Other Device", brand, null, "SKU-9");
+        DeviceDTO sameNameDTO = new DeviceDTO();
+        sameNameDTO.setName("Other Device");
+        sameNameDTO.setBrand("Test Brand");
+        sameNameDTO.setExternalId("SKU-3");
+        Device newDevice = new Device();
+
+        when(deviceRepository.findByExternalIdIn(List.of("SKU-1", "SKU-3"))).thenReturn(List.of());
+        when(deviceRepository.findByBrandAndNameIn(Map.of("Test Brand", Set.of("Test Device", "Other Device"))))
+                .thenReturn(List.of(device, keyedElsewhere));
+        when(brandService.getOrCreateBrand("Test Brand")).thenReturn(brand);
+        when(deviceMapper.toEntity(sameNameDTO)).thenReturn(newDevice);
+        when(deviceBatchRepository.insertAll(List.of(newDevice))).thenReturn(List.of(newDevice));
+        when(deviceRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Device> saved = new ArrayList<>();
+            ((Iterable<Device>) invocation.getArgument(0)).forEach(saved::add);
+            return saved;
+        });
+
+        BulkUpsertResultDTO result = deviceService.upsertAllDevices(List.of(keyedDTO, sameNameDTO));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getUpdated());
+        assertEquals("SKU-1", device.getExternalId());
+        assertEquals("SKU-9", keyedElsewhere.getExternalId());
+    }
+
+    @Test
+    void patchDevices_ShouldBatchUpdateChangedDevicesAndReportOutcomes() {
+        Device unchanged = new Device(2L, "Same Name", brand, null, null);
+        Brand otherBrand = new Brand(2L, "Other Brand");
+
+        when(deviceRepository.findWithBrandByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(device, unchanged));
+        when(brandService.getOrCreateBrand("Other Brand")).thenReturn(otherBrand);
+        when(deviceBatchRepository.updateNameAndBrand(any())).thenReturn(new int[]{1});
+
+        BatchOperationResultDTO result = deviceService.patchDevices(List.of(
+                new DevicePatchDTO(1L, null, "Other Brand"),
+                new DevicePatchDTO(2L, "Same Name", null),
+                new DevicePatchDTO(3L, "Missing", null)));
+
+        assertEquals(1, result.getAffected());
+        assertEquals(1, result.getUnchanged());
+        assertEquals(1, result.getNotFound());
+        assertEquals(BatchItemOutcome.UPDATED, result.getItems().get(0).getOutcome());
+        assertEquals(BatchItemOutcome.NOT_FOUND, result.getItems().get(2).getOutcome());
+        assertEquals("Test Brand", device.getBrand().getName());
+        verify(deviceBatchRepository).updateNameAndBrand(argThat(devices -> devices.size() == 1
+                && devices.get(0).getId() == 1L && devices.get(0).getBrand() == otherBrand
+                && devices.get(0).getName().equals("Test Device")));
+        verify(deviceRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteDevicesByIds_ShouldDeleteInChunksAndReportMissingIds() {
+        deviceService = newDeviceService(2);
+        var third = new Device(3L, "Third Device", brand, null, null);
+        when(deviceRepository.findWithBrandByIdIn(List.of(1L, 2L))).thenReturn(List.of(device));
+        when(deviceRepository.findWithBrandByIdIn(List.of(3L))).thenReturn(List.of(third));
+        when(deviceBatchRepository.deleteByIds(List.of(1L, 2L))).thenReturn(new int[]{1, 0});
+        when(deviceBatchRepository.deleteByIds(List.of(3L))).thenReturn(new int[]{1});
+
+        BatchOperationResultDTO result = deviceService.deleteDevicesByIds(List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(2, result.getAffected());
+        assertEquals(1, result.getNotFound());
+        assertEquals(3, result.getItems().size());
+        assertEquals(BatchItemOutcome.NOT_FOUND, result.getItems().get(1).getOutcome());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(eventPublisher, times(2)).publishEvent(any(CatalogChangeEvent.class));
+    }
+
+    @Test
+    void deleteDevicesByBrand_ShouldDeleteAllDevicesOfBrand() {
+        var second = new Device(2L, "Second Device", brand, null, null);
+        when(deviceRepository.findIdsByBrandName("Test Brand")).thenReturn(List.of(1L, 2L));
+        when(deviceRepository.findWithBrandByIdIn(List.of(1L, 2L))).thenReturn(List.of(device, second));
+        when(deviceBatchRepository.deleteByIds(List.of(1L, 2L))).thenReturn(new int[]{1, 1});
+
+        BatchOperationResultDTO result = deviceService.deleteDevicesByBrand("Test Brand");
+
+        assertEquals(2, result.getAffected());
+        assertEquals(0, result.getNotFound());
+        ArgumentCaptor<CatalogChangeEvent> event = ArgumentCaptor.forClass(CatalogChangeEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(2, event.getValue().getChanges().size());
+        assertEquals("Test Brand", event.getValue().getChanges().get(1).getBrand());
+    }
+}
@@ -0,0 +1,108 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long BASE_LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static AdaptiveConcurrencyLimit newLimit(int initial) {
+        return new AdaptiveConcurrencyLimit(initial, 2, 100, 0.2, 1.5, 0.9);
+    }
+
+    /**
+     * Keeps {@code concurrency} requests in flight and completes one with the given latency.
+     */
+    private static void sample(AdaptiveConcurrencyLimit limit, int concurrency, long latency) {
+        while (limit.getInFlight() < concurrency && limit.tryAcquire(1.0)) {
+            // fill up to the requested concurrency
+        }
+        limit.release(latency, false);
+    }
+
+    @Test
+    void tryAcquire_ShouldRejectBeyondShareOfLimit() {
+        var limit = newLimit(10);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(0.5));
+        }
+        assertFalse(limit.tryAcquire(0.5));
+        assertTrue(limit.tryAcquire(1.0));
+        assertEquals(6, limit.getInFlight());
+    }
+
+    @Test
+    void release_ShouldGrowLimitWhileLatencyIsStableAndLimitIsUsed() {
+        var limit = newLimit(10);
+
+        for (int i = 0; i < 50; i++) {
+            sample(limit, limit.getLimit(), BASE_LATENCY);
+        }
+
+        assertTrue(limit.getLimit() > 10, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldNotGrowLimitWhenMostlyIdle() {
+        var limit = newLimit(10);
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire(1.0));
+            limit.release(BASE_LATENCY, false);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldShrinkLimitWhenLatencyRises() {
+        var limit = newLimit(40);
+        for (int i = 0; i < 20; i++) {
+            sample(limit, 30, BASE_LATENCY);
+        }
+        int before = limit.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            sample(limit, 30, BASE_LATENCY * 10);
+        }
+
+        assertTrue(limit.getLimit() < before / 2, "limit went from " + before + " to " + limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldNotShrinkLimitForSlowRequestClassesNextToFastOnes() {
+        var limit = newLimit(40);
+
+        for (int i = 0; i < 40; i++) {
+            while (limit.getInFlight() < 30 && limit.tryAcquire(1.0)) {
+                // fill up to the requested concurrency
+            }
+            limit.release(i % 2 == 0 ? "GET /devices/{id}" : "POST /devices/bulk", i % 2 == 0 ? BASE_LATENCY : BASE_LATENCY * 20, false);
+        }
+
+        assertTrue(limit.getLimit() >= 40, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void release_ShouldBackOffMultiplicativelyOnFailure() {
+        var limit = newLimit(50);
+        assertTrue(limit.tryAcquire(1.0));
+
+        limit.release(BASE_LATENCY, true);
+
+        assertEquals(45, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void constructor_ShouldRejectInconsistentBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimit(1, 2, 10, 0.2, 1.5, 0.9));
+    }
+}
@@ -0,0 +1,48 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+    private static final int KEYS = 10_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void mightContain_ShouldBeTrueForEveryAddedKey() {
+        var filter = new BloomFilter(KEYS, FALSE_POSITIVE_RATE);
+        for (long id = 1; id <= KEYS; id++) {
+            filter.put(id);
+            filter.put("Brand" + id);
+        }
+
+        for (long id = 1; id <= KEYS; id++) {
+            assertTrue(filter.mightContain(id));
+            assertTrue(filter.mightContain("Brand" + id));
+        }
+    }
+
+    @Test
+    void mightContain_ShouldRarelyBeTrueForKeysNeverAdded() {
+        var filter = new BloomFilter(KEYS, FALSE_POSITIVE_RATE);
+        for (long id = 1; id <= KEYS; id++) {
+            filter.put(id);
+        }
+
+        int falsePositives = 0;
+        for (long id = KEYS + 1; id <= 11 * KEYS; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2 * FALSE_POSITIVE_RATE * 10 * KEYS, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void constructor_ShouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, FALSE_POSITIVE_RATE));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(KEYS, 1));
+    }
+}
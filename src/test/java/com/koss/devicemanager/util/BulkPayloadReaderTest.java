@@ -0,0 +1,141 @@
+package com.koss.devicemanager.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.koss.devicemanager.dto.DeviceDTO;
+import com.koss.devicemanager.exception.BulkValidationException;
+import com.koss.devicemanager.exception.UnsupportedContentTypeException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkPayloadReaderTest {
+    private static final String JSON = "application/json";
+
+    private static Validator validator;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeAll
+    static void setUpValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    private BulkPayloadReader reader(int maxErrors) {
+        return new BulkPayloadReader(objectMapper, validator, maxErrors);
+    }
+
+    private static InputStream json(String payload) {
+        return new ByteArrayInputStream(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String row(String name, String brand) {
+        return "{\"name\":\"" + name + "\",\"brand\":\"" + brand + "\"}";
+    }
+
+    @Test
+    void readAll_ShouldReturnValidRows() throws IOException {
+        var rows = reader(10).readAll(json("[" + row("Device1", "Brand1") + "," + row("Device2", "Brand2") + "]"), JSON, DeviceDTO.class);
+
+        assertEquals(2, rows.size());
+        assertEquals("Device2", rows.get(1).getName());
+    }
+
+    @Test
+    void readAll_ShouldReportEveryInvalidRowBelowTheCap() {
+        var payload = "[" + row("Device1", "Brand1") + "," + row("D", "Brand2") + "," + row("Device3", "") + "]";
+
+        var thrown = assertThrows(BulkValidationException.class, () -> reader(10).readAll(json(payload), JSON, DeviceDTO.class));
+
+        assertFalse(thrown.isStoppedEarly());
+        assertEquals(2, thrown.getErrors().size());
+        assertEquals(1, thrown.getErrors().get(0).getRowIndex());
+        assertEquals("name", thrown.getErrors().get(0).getField());
+        assertEquals(2, thrown.getErrors().get(1).getRowIndex());
+        assertEquals("brand", thrown.getErrors().get(1).getField());
+    }
+
+    @Test
+    void readAll_ShouldStopAtTheErrorCapWithoutReadingTheRest() {
+        // Everything after the first row is malformed, which would be reported if it were read.
+        var payload = "[" + row("D", "Brand1") + ", {\"name\": ";
+
+        var thrown = assertThrows(BulkValidationException.class, () -> reader(1).readAll(json(payload), JSON, DeviceDTO.class));
+
+        assertTrue(thrown.isStoppedEarly());
+        assertEquals(1, thrown.getErrors().size());
+        assertEquals(0, thrown.getErrors().get(0).getRowIndex());
+        assertEquals("Validation stopped after 1 error(s)", thrown.getMessage());
+    }
+
+    @Test
+    void readAll_ShouldReportMalformedRowByIndex() {
+        var payload = "[" + row("Device1", "Brand1") + ", {\"name\": [1]}]";
+
+        var thrown = assertThrows(BulkValidationException.class, () -> reader(10).readAll(json(payload), JSON, DeviceDTO.class));
+
+        assertTrue(thrown.isStoppedEarly());
+        assertEquals(1, thrown.getErrors().get(0).getRowIndex());
+        assertNull(thrown.getErrors().get(0).getField());
+        assertTrue(thrown.getErrors().get(0).getMessage().startsWith("Malformed row"));
+    }
+
+    @Test
+    void readAll_ShouldRejectPayloadThatIsNotAnArray() {
+        var thrown = assertThrows(BulkValidationException.class,
+                () -> reader(10).readAll(json(row("Device1", "Brand1")), JSON, DeviceDTO.class));
+
+        assertEquals("Payload must be an array of rows", thrown.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void readAll_ShouldReadCborPayloads() throws IOException {
+        var device = new DeviceDTO();
+        device.setName("Device1");
+        device.setBrand("Brand1");
+        byte[] cbor = objectMapper.copyWith(new CBORFactory()).writeValueAsBytes(List.of(device));
+
+        var rows = reader(10).readAll(new ByteArrayInputStream(cbor), "application/cbor", DeviceDTO.class);
+
+        assertEquals("Brand1", rows.get(0).getBrand());
+    }
+
+    @Test
+    void readAll_ShouldReadPayloadsWithoutContentTypeOrWithJsonSuffixAsJson() throws IOException {
+        var payload = "[" + row("Device1", "Brand1") + "]";
+
+        assertEquals(1, reader(10).readAll(json(payload), null, DeviceDTO.class).size());
+        assertEquals(1, reader(10).readAll(json(payload), "application/vnd.devices+json", DeviceDTO.class).size());
+    }
+
+    @Test
+    void readAll_ShouldRejectUnsupportedContentType() {
+        var payload = "[" + row("Device1", "Brand1") + "]";
+
+        assertThrows(UnsupportedContentTypeException.class, () -> reader(10).readAll(json(payload), "text/csv", DeviceDTO.class));
+    }
+
+    @Test
+    void read_ShouldStreamRowsUntilTheFirstInvalidOne() {
+        List<DeviceDTO> streamed = new ArrayList<>();
+        var payload = "[" + row("Device1", "Brand1") + "," + row("D", "Brand2") + "," + row("Device3", "Brand3") + "]";
+
+        assertThrows(BulkValidationException.class, () -> reader(10).read(json(payload), JSON, DeviceDTO.class, streamed::add));
+
+        assertEquals(1, streamed.size());
+        assertEquals("Device1", streamed.get(0).getName());
+    }
+}
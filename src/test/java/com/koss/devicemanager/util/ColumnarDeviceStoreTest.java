@@ -0,0 +1,122 @@
+package com.koss.devicemanager.util;
+
+import com.koss.devicemanager.dto.DeviceDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarDeviceStoreTest {
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    private ColumnarDeviceStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ColumnarDeviceStore();
+    }
+
+    @Test
+    void upsert_ShouldRoundTripAllColumns() {
+        store.upsert(7, "\u00dcn\u00efcode Phone", "Brand1", CREATED, "SKU-7");
+
+        DeviceDTO device = store.get(7);
+
+        assertEquals(7L, device.getId());
+        assertEquals("\u00dcn\u00efcode Phone", device.getName());
+        assertEquals("Brand1", device.getBrand());
+        assertEquals(CREATED, device.getCreationTime());
+        assertEquals("SKU-7", device.getExternalId());
+        assertNull(store.get(8));
+    }
+
+    @Test
+    void upsert_ShouldKeepIdOrderForOutOfOrderInsertsAndOverwriteExisting() {
+        store.upsert(3, "Three", "A", CREATED, null);
+        store.upsert(1, "One", "A", CREATED, null);
+        store.upsert(2, "Two", "B", CREATED, null);
+        store.upsert(1, "One Renamed", "B", CREATED, null);
+
+        assertEquals(List.of(1L, 2L, 3L), store.list(0, 10).stream().map(DeviceDTO::getId).toList());
+        assertEquals("One Renamed", store.get(1).getName());
+        assertNull(store.get(1).getExternalId());
+        assertEquals(List.of(1L, 2L), store.findByBrand("B").stream().map(DeviceDTO::getId).toList());
+    }
+
+    @Test
+    void remove_ShouldHideRowsAndCompactShouldKeepTheRest() {
+        for (long id = 1; id <= 2000; id++) {
+            store.upsert(id, "Device " + id, "Brand" + (id % 3), CREATED, null);
+        }
+        for (long id = 2; id <= 2000; id += 2) {
+            assertTrue(store.remove(id));
+        }
+        assertFalse(store.remove(2));
+
+        assertEquals(1000, store.size());
+        assertNull(store.get(2));
+        store.compact();
+
+        assertEquals(1000, store.size());
+        assertEquals("Device 1999", store.get(1999).getName());
+        assertEquals(List.of(5L, 7L), store.list(2, 2).stream().map(DeviceDTO::getId).toList());
+    }
+
+    @Test
+    void insertBeforeRemovedRow_ShouldKeepRemovalOnTheSameDevice() {
+        store.upsert(10, "Ten", "A", CREATED, null);
+        store.upsert(20, "Twenty", "A", CREATED, null);
+        store.remove(10);
+
+        store.upsert(5, "Five", "A", CREATED, null);
+
+        assertNull(store.get(10));
+        assertEquals("Five", store.get(5).getName());
+        assertEquals("Twenty", store.get(20).getName());
+    }
+
+    @Test
+    void compact_ShouldReclaimArenaAfterRenames() {
+        store.upsert(1, "Device", "A", CREATED, null);
+        for (int i = 0; i < 5000; i++) {
+            store.upsert(1, "Renamed " + i, "A", CREATED, null);
+        }
+        long before = store.memoryBytes();
+
+        store.compact();
+
+        assertTrue(store.memoryBytes() < before);
+        assertEquals("Renamed 4999", store.get(1).getName());
+    }
+
+    @Test
+    void renameBrand_ShouldRelabelAllDevicesOfBrand() {
+        store.upsert(1, "One", "Old", CREATED, null);
+        store.upsert(2, "Two", "Other", CREATED, null);
+
+        store.renameBrand("Old", "New");
+
+        assertEquals("New", store.get(1).getBrand());
+        assertTrue(store.findByBrand("Old").isEmpty());
+        assertEquals(1, store.findByBrand("New").size());
+    }
+
+    @Test
+    void renameBrand_ShouldMergeIntoAnExistingBrandName() {
+        store.upsert(1, "One", "Old", CREATED, null);
+        store.upsert(2, "Two", "New", CREATED, null);
+
+        store.renameBrand("Old", "New");
+
+        assertEquals("New", store.get(1).getBrand());
+        assertEquals("New", store.get(2).getBrand());
+        assertEquals(2, store.findByBrand("New").size());
+        assertTrue(store.findByBrand("Old").isEmpty());
+    }
+}
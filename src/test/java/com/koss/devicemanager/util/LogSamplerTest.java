@@ -0,0 +1,30 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSamplerTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final List<Long> logged = new ArrayList<>();
+
+    @Test
+    void log_ShouldSuppressLinesBeyondBudgetAndReportThemWithTheNextLine() {
+        var sampler = new LogSampler(1, 2, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            sampler.log(logged::add);
+        }
+        assertEquals(List.of(0L, 0L), logged);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        sampler.log(logged::add);
+
+        assertEquals(List.of(0L, 0L, 3L), logged);
+    }
+}
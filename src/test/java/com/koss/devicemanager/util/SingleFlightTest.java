@@ -0,0 +1,123 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    private final SingleFlight<String, String> flight = new SingleFlight<>();
+
+    /**
+     * Starts {@link #CALLERS} calls for the same key whose loader blocks until all callers have
+     * joined, then lets it finish.
+     */
+    private List<Future<String>> callConcurrently(ExecutorService executor, AtomicInteger loads,
+                                                  CountDownLatch release, RuntimeException failure) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                loads.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failure != null) {
+                    throw failure;
+                }
+                return "value";
+            })));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flight.getExecuted() + flight.getMerged() < CALLERS && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        return results;
+    }
+
+    @Test
+    void execute_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var loads = new AtomicInteger();
+        try {
+            for (Future<String> result : callConcurrently(executor, loads, new CountDownLatch(1), null)) {
+                assertEquals("value", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(1, flight.getExecuted());
+        assertEquals(CALLERS - 1, flight.getMerged());
+    }
+
+    @Test
+    void execute_ShouldPropagateLoaderExceptionToMergedCallers() throws Exception {
+        var executor = Executors.newFixedThreadPool(CALLERS);
+        var failure = new IllegalStateException("database down");
+        try {
+            for (Future<String> result : callConcurrently(executor, new AtomicInteger(), new CountDownLatch(1), failure)) {
+                var thrown = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(failure, thrown.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_ShouldNotKeepResultsAfterCompletion() {
+        var loads = new AtomicInteger();
+
+        flight.execute("key", () -> "v" + loads.incrementAndGet());
+        var second = flight.execute("key", () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(2, flight.getExecuted());
+        assertEquals(0, flight.getMerged());
+    }
+
+    @Test
+    void forgetAll_ShouldMakeLaterCallersStartAFreshLoad() throws Exception {
+        var executor = Executors.newSingleThreadExecutor();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        try {
+            var first = executor.submit(() -> flight.execute("key", () -> {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "before write";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            flight.forgetAll();
+
+            assertEquals("after write", flight.execute("key", () -> "after write"));
+            release.countDown();
+            assertEquals("before write", first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0, flight.getMerged());
+    }
+}
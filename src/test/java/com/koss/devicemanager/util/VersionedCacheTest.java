@@ -0,0 +1,69 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VersionedCacheTest {
+    private final VersionedCache<String, String> cache = new VersionedCache<>(100);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private String load(String key) {
+        return cache.get(key, () -> key + loads.incrementAndGet());
+    }
+
+    @Test
+    void get_ShouldServeLoadedValueUntilInvalidated() {
+        assertEquals("page1", load("page"));
+        assertEquals("page1", load("page"));
+
+        cache.invalidateAll();
+
+        assertEquals("page2", load("page"));
+        assertEquals("page2", load("page"));
+        assertEquals(2, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void get_ShouldNotServeValueLoadedWhileInvalidating() {
+        var loaded = cache.get("page", () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("page1", load("page"));
+    }
+
+    @Test
+    void get_ShouldKeepKeysApart() {
+        assertEquals("a1", load("a"));
+        assertEquals("b2", load("b"));
+        assertEquals("a1", load("a"));
+    }
+
+    @Test
+    void invalidate_ShouldOnlyReloadTheInvalidatedKey() {
+        load("a");
+        load("b");
+
+        cache.invalidate("a");
+
+        assertEquals("a3", load("a"));
+        assertEquals("b2", load("b"));
+    }
+
+    @Test
+    void get_ShouldNotServeValueLoadedWhileInvalidatingItsKey() {
+        var loaded = cache.get("a", () -> {
+            cache.invalidate("a");
+            return "stale";
+        });
+
+        assertEquals("stale", loaded);
+        assertEquals("a1", load("a"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.koss.devicemanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WriteCombinerTest {
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private WriteCombiner<Integer, String> newCombiner(int maxBatchSize, Function<List<Integer>, List<String>> batchWriter) {
+        return new WriteCombiner<>(maxBatchSize, 50, TimeUnit.MILLISECONDS, items -> {
+            batches.add(items);
+            return batchWriter.apply(items);
+        }, item -> single(item));
+    }
+
+    private static String single(Integer item) {
+        if (item < 0) {
+            throw new IllegalArgumentException("negative: " + item);
+        }
+        return "saved " + item;
+    }
+
+    @Test
+    void submit_ShouldWriteLoneCallerWithoutWaiting() {
+        var combiner = newCombiner(10, items -> items.stream().map(WriteCombinerTest::single).toList());
+
+        long start = System.nanoTime();
+        assertEquals("saved 1", combiner.submit(1));
+        assertEquals("saved 2", combiner.submit(2));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(List.of(List.of(1), List.of(2)), batches);
+    }
+
+    @Test
+    void submit_ShouldCombineCallsArrivingDuringAWrite() throws Exception {
+        var firstWriteStarted = new CountDownLatch(1);
+        var releaseFirstWrite = new CountDownLatch(1);
+        var combiner = newCombiner(10, items -> {
+            if (items.contains(0)) {
+                firstWriteStarted.countDown();
+                try {
+                    releaseFirstWrite.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return items.stream().map(WriteCombinerTest::single).toList();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            var first = executor.submit(() -> combiner.submit(0));
+            assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+            List<Future<String>> others = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                int item = i;
+                others.add(executor.submit(() -> combiner.submit(item)));
+            }
+            Thread.sleep(100);
+            releaseFirstWrite.countDown();
+
+            assertEquals("saved 0", first.get(5, TimeUnit.SECONDS));
+            for (int i = 0; i < others.size(); i++) {
+                assertEquals("saved " + (i + 1), others.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(2, combiner.getBatches());
+        assertEquals(6, combiner.getWrites());
+        assertEquals(5, batches.get(1).size());
+    }
+
+    @Test
+    void submit_ShouldRetryFailedBatchItemByItem() throws Exception {
+        var firstWriteStarted = new CountDownLatch(1);
+        var releaseFirstWrite = new CountDownLatch(1);
+        var combiner = newCombiner(10, items -> {
+            if (items.contains(0)) {
+                firstWriteStarted.countDown();
+                try {
+                    releaseFirstWrite.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return items.stream().map(WriteCombinerTest::single).toList();
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            executor.submit(() -> combiner.submit(0));
+            assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+            var good = executor.submit(() -> combiner.submit(7));
+            var bad = executor.submit(() -> combiner.submit(-1));
+            Thread.sleep(100);
+            releaseFirstWrite.countDown();
+
+            assertEquals("saved 7", good.get(5, TimeUnit.SECONDS));
+            var thrown = assertThrows(Exception.class, () -> bad.get(5, TimeUnit.SECONDS));
+            assertEquals(IllegalArgumentException.class, thrown.getCause().getClass());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void submit_ShouldRethrowLoneCallersFailure() {
+        var combiner = newCombiner(10, items -> items.stream().map(WriteCombinerTest::single).toList());
+
+        assertThrows(IllegalArgumentException.class, () -> combiner.submit(-1));
+        assertEquals("saved 3", combiner.submit(3));
+    }
+}